@@ -3,9 +3,11 @@ package com.kalvitrack_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class KalvitrackBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,123 @@
+package com.kalvitrack_backend.config;
+
+import com.kalvitrack_backend.entity.IdGenerators;
+import com.kalvitrack_backend.entity.PooledTableIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reserves id blocks in id_generators for PooledTableIdGenerator on a dedicated connection pool
+ * (app.id-allocation.pool-size, default 2) separate from the application's Hikari pool.
+ * Each reservation is a short SELECT ... FOR UPDATE / UPDATE / COMMIT that holds nothing else,
+ * so it always finishes and an insert waiting for ids can't starve the main pool.
+ *
+ * The generators are created by Hibernate, not Spring, so they reach this bean through a static.
+ * At startup it also checks that migration 007 has been applied: the table has no migration
+ * runner here, and without it every insert of a pooled-id entity would fail.
+ */
+@Component
+public class IdBlockAllocator implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdBlockAllocator.class);
+
+    private static final String MIGRATION = "db/migration/007_create_id_generators.sql";
+
+    private static volatile IdBlockAllocator instance;
+
+    private final HikariDataSource dataSource;
+
+    public IdBlockAllocator(DataSourceProperties dataSourceProperties,
+                            @Value("${app.id-allocation.pool-size:2}") int poolSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("id-allocation");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.dataSource.setAutoCommit(false);
+        instance = this;
+    }
+
+    /**
+     * Reserve the next size ids for name and return the highest of them
+     */
+    public static long allocate(String name, int size) {
+        IdBlockAllocator allocator = instance;
+        if (allocator == null) {
+            throw new IllegalStateException("Id allocation for " + name + " requested before IdBlockAllocator was initialised");
+        }
+        return allocator.reserve(name, size);
+    }
+
+    private long reserve(String name, int size) {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                long hi;
+                try (PreparedStatement select = connection.prepareStatement(
+                        "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                                + " WHERE " + IdGenerators.NAME_COLUMN + " = ? FOR UPDATE")) {
+                    select.setString(1, name);
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new IllegalStateException("No " + IdGenerators.TABLE + " row for '" + name + "' - see " + MIGRATION);
+                        }
+                        hi = rs.getLong(1);
+                    }
+                }
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ?"
+                                + " WHERE " + IdGenerators.NAME_COLUMN + " = ?")) {
+                    update.setLong(1, hi + size);
+                    update.setString(2, name);
+                    update.executeUpdate();
+                }
+                connection.commit();
+                return hi;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reserve ids for " + name, e);
+        }
+    }
+
+    /**
+     * Fail startup if id_generators or one of its rows is missing, rather than on the first insert
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> missing = new TreeSet<>(PooledTableIdGenerator.names());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT " + IdGenerators.NAME_COLUMN + " FROM " + IdGenerators.TABLE);
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                missing.remove(rs.getString(1));
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Table " + IdGenerators.TABLE + " is not readable - apply " + MIGRATION + " before starting", e);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException(IdGenerators.TABLE + " has no rows for " + missing + " - apply " + MIGRATION + " before starting");
+        }
+        logger.info("Pooled id generators ready for {}", PooledTableIdGenerator.names());
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.kalvitrack_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Single source of truth for allowed CORS origins, shared by WebSecurityConfig and JwtFilter.
+ * Loaded from cors.allowed-origins: plain entries are exact matches (hash lookup),
+ * entries containing '*' (e.g. https://*.vercel.app, http://localhost:*) are compiled once
+ * into patterns. Pattern results are cached per origin string.
+ */
+@Component
+public class OriginPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(OriginPolicy.class);
+
+    // Bound the per-origin cache - attackers control the Origin header
+    private static final int MAX_CACHED_ORIGINS = 1024;
+
+    private final List<String> exactOrigins;
+    private final Set<String> exactOriginSet;
+    private final List<Pattern> originPatterns;
+    private final ConcurrentHashMap<String, Boolean> matchCache = new ConcurrentHashMap<>();
+
+    public OriginPolicy(@Value("${cors.allowed-origins:https://kalvitrack.vercel.app,https://www.kalvi-track.co.in,https://kalvi-track.co.in,https://d1clpzx8i9nb2e.cloudfront.net,http://localhost:5173,http://localhost:5174,http://localhost:3000,http://localhost:8080,http://127.0.0.1:5173,http://127.0.0.1:3000}")
+                        String allowedOrigins) {
+        List<String> exact = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+
+        Arrays.stream(allowedOrigins.split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .forEach(origin -> {
+                    if (origin.contains("*")) {
+                        patterns.add(compileWildcard(origin));
+                    } else {
+                        exact.add(origin);
+                    }
+                });
+
+        this.exactOrigins = Collections.unmodifiableList(exact);
+        this.exactOriginSet = new HashSet<>(exact);
+        this.originPatterns = Collections.unmodifiableList(patterns);
+
+        logger.info("CORS origin policy loaded: {} exact origins, {} wildcard patterns", exact.size(), patterns.size());
+    }
+
+    public boolean isAllowed(String origin) {
+        if (origin == null) {
+            return false;
+        }
+        if (exactOriginSet.contains(origin)) {
+            return true;
+        }
+        if (originPatterns.isEmpty()) {
+            return false;
+        }
+
+        Boolean cached = matchCache.get(origin);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean allowed = false;
+        for (Pattern pattern : originPatterns) {
+            if (pattern.matcher(origin).matches()) {
+                allowed = true;
+                break;
+            }
+        }
+
+        if (matchCache.size() >= MAX_CACHED_ORIGINS) {
+            matchCache.clear();
+        }
+        matchCache.put(origin, allowed);
+        return allowed;
+    }
+
+    /**
+     * Origin echoed back when the request origin is not allowed
+     */
+    public String getDefaultOrigin() {
+        return exactOrigins.isEmpty() ? null : exactOrigins.get(0);
+    }
+
+    public List<String> getExactOrigins() {
+        return exactOrigins;
+    }
+
+    private static Pattern compileWildcard(String origin) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : origin.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append("[^/]+");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -25,8 +25,11 @@ public class WebSecurityConfig {
 
     private final JwtFilter jwtFilter;
 
-    public WebSecurityConfig(JwtFilter jwtFilter) {
+    private final OriginPolicy originPolicy;
+
+    public WebSecurityConfig(JwtFilter jwtFilter, OriginPolicy originPolicy) {
         this.jwtFilter = jwtFilter;
+        this.originPolicy = originPolicy;
     }
 
     @Bean
@@ -134,21 +137,14 @@ public class WebSecurityConfig {
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
-        CorsConfiguration configuration = new CorsConfiguration();
-
-// ✅ Specific origins only (no wildcards when allowCredentials = true)
-        configuration.setAllowedOrigins(Arrays.asList(
-                "https://kalvitrack.vercel.app",
-                "https://www.kalvi-track.co.in",
-                "https://kalvi-track.co.in",
-                "http://localhost:5173",
-                "https://d1clpzx8i9nb2e.cloudfront.net",
-                "http://localhost:3000",
-                "http://localhost:5174",
-                "http://localhost:8080",
-                "http://127.0.0.1:5173",
-                "http://127.0.0.1:3000"
-        ));
+        // ✅ Origins come from OriginPolicy (cors.allowed-origins) - same check JwtFilter uses on 401s
+        CorsConfiguration configuration = new CorsConfiguration() {
+            @Override
+            public String checkOrigin(String requestOrigin) {
+                return originPolicy.isAllowed(requestOrigin) ? requestOrigin : null;
+            }
+        };
+        configuration.setAllowedOrigins(originPolicy.getExactOrigins());
 
         configuration.setAllowedMethods(Arrays.asList(
                 "GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH", "HEAD"
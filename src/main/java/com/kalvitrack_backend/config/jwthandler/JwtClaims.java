@@ -0,0 +1,50 @@
+package com.kalvitrack_backend.config.jwthandler;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature has already been verified.
+ * Built once by JwtFilter and reused for the rest of the request
+ * (request attribute + authentication principal), so controllers and
+ * services never parse the token again.
+ */
+@Getter
+public class JwtClaims implements Principal {
+
+    // Request attribute under which JwtFilter stores the verified claims
+    public static final String REQUEST_ATTRIBUTE = JwtClaims.class.getName();
+
+    private final String email;
+    private final String role;
+    private final Long userId;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    public JwtClaims(Claims claims) {
+        this.email = claims.getSubject();
+        this.role = claims.get("role", String.class);
+        Object userIdObj = claims.get("userId");
+        this.userId = userIdObj != null ? Long.parseLong(userIdObj.toString()) : null;
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    // Principal name stays the email so auth.getName() keeps working everywhere
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
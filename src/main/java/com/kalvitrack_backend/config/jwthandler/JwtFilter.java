@@ -1,7 +1,9 @@
 package com.kalvitrack_backend.config.jwthandler;
 
+import com.kalvitrack_backend.config.OriginPolicy;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -16,8 +18,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,49 +30,14 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
-    // Comprehensive list of public endpoints that don't require authentication
-    private static final List<String> EXCLUDED_PATHS = Arrays.asList(
-            // Authentication endpoints
-            "/api/auth/login",
-            "/api/auth/admin/login",
-            "/api/auth/hr/login",
-            "/api/auth/faculty/login",
-            "/api/auth/panelists/login",
-            "/api/auth/register",
-            "/api/auth/forgot-password",
-            "/api/auth/reset-password",
-            "/api/auth/validate-reset-token",
-            "/api/admin/login",
-
-            // Student registration endpoints (public)
-            "/api/students/verify-email",
-            "/api/students/complete-registration",
-
-            // Password reset endpoints
-            "/api/password-reset",
-            "/api/password-reset/initiate",
-            "/api/password-reset/complete",
-            "/api/password-reset/validate-token",
-
-            // Health and monitoring
-            "/api/health",
-            "/health",
-            "/actuator",
-
-            // Documentation
-            "/swagger-ui",
-            "/v3/api-docs",
-            "/swagger-resources",
-            "/webjars",
-
-            // Static resources
-            "/public",
-            "/static",
-            "/favicon.ico"
-    );
-
-    public JwtFilter(JwtUtil jwtUtil) {
+    private final RouteMatcher routeMatcher;
+
+    private final OriginPolicy originPolicy;
+
+    public JwtFilter(JwtUtil jwtUtil, RouteMatcher routeMatcher, OriginPolicy originPolicy) {
         this.jwtUtil = jwtUtil;
+        this.routeMatcher = routeMatcher;
+        this.originPolicy = originPolicy;
     }
 
     @Override
@@ -80,23 +47,12 @@ public class JwtFilter extends OncePerRequestFilter {
 
         String requestURI = request.getRequestURI();
         String method = request.getMethod();
-        if (isPublicEndpoint(requestURI, method)) {
-            logger.info("✅ Public endpoint - skipping JWT validation: {}", requestURI);
-            filterChain.doFilter(request, response);
-            return;
-        }
         logger.debug("Processing request - Method: {}, URI: {}", method, requestURI);
 
-        // ✅ CRITICAL: Skip OPTIONS requests immediately (CORS preflight)
-        if ("OPTIONS".equalsIgnoreCase(method)) {
-            logger.debug("✅ Skipping JWT validation for OPTIONS request: {}", requestURI);
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        // ✅ CRITICAL: Check if this is an excluded (public) path BEFORE checking for Authorization
-        if (isExcludedPath(requestURI)) {
-            logger.debug("✅ Public endpoint - skipping JWT validation for: {}", requestURI);
+        // ✅ CRITICAL: Skip OPTIONS requests and public/excluded paths (normally already caught by shouldNotFilter)
+        RouteMatcher.RouteType routeType = routeMatcher.classify(requestURI);
+        if ("OPTIONS".equalsIgnoreCase(method) || routeType != RouteMatcher.RouteType.PROTECTED) {
+            logger.debug("✅ {} endpoint - skipping JWT validation: {} {}", routeType, method, requestURI);
             filterChain.doFilter(request, response);
             return;
         }
@@ -106,155 +62,133 @@ public class JwtFilter extends OncePerRequestFilter {
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.warn("❌ No valid Authorization header found for protected endpoint: {}", requestURI);
-            sendUnauthorizedResponse(request, response, "Missing Authorization",
-                    "Authorization header with Bearer token required");
+            sendUnauthorizedResponse(request, response, UnauthorizedReason.MISSING_AUTHORIZATION);
             return;
         }
 
         String token = authHeader.substring(7);
-        String email = null;
-        String role = null;
+        JwtClaims claims;
 
         try {
-            // Extract email and role from token
-            email = jwtUtil.extractEmail(token);
-            role = jwtUtil.extractRole(token);
+            // Parse and verify the token ONCE - the claims are reused for the rest of the request
+            claims = jwtUtil.parseVerifiedClaims(token);
 
-            logger.debug("Extracted email: {} and role: {} from token", email, role);
+            logger.debug("Extracted email: {} and role: {} from token", claims.getEmail(), claims.getRole());
 
             // Validate extracted data
-            if (email == null || email.trim().isEmpty()) {
+            if (claims.getEmail() == null || claims.getEmail().trim().isEmpty()) {
                 logger.warn("❌ Email is null or empty in token");
-                sendUnauthorizedResponse(request, response, "Invalid token",
-                        "Token does not contain valid email");
+                sendUnauthorizedResponse(request, response, UnauthorizedReason.MISSING_EMAIL);
                 return;
             }
 
-            if (role == null || role.trim().isEmpty()) {
+            if (claims.getRole() == null || claims.getRole().trim().isEmpty()) {
                 logger.warn("❌ Role is null or empty in token");
-                sendUnauthorizedResponse(request, response, "Invalid token",
-                        "Token does not contain valid role");
+                sendUnauthorizedResponse(request, response, UnauthorizedReason.MISSING_ROLE);
                 return;
             }
 
         } catch (Exception e) {
             logger.error("❌ Failed to extract data from token: {}", e.getMessage());
-            sendUnauthorizedResponse(request, response, "Invalid token",
-                    "Token format is invalid or expired");
+            sendUnauthorizedResponse(request, response, UnauthorizedReason.INVALID_TOKEN);
             return;
         }
 
         // Proceed with authentication if user is not already authenticated
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            try {
-                // Validate token
-                if (jwtUtil.validateToken(token, email)) {
-                    logger.debug("✅ Token validated successfully for user: {} with role: {}", email, role);
-
-                    // Create authorities with ROLE_ prefix for Spring Security
-                    List<GrantedAuthority> authorities = Collections.singletonList(
-                            new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())
-                    );
-                    logger.debug("Raw role from token: '{}'", role);
-                    logger.debug("Authorities being set: {}", authorities);
-
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(email, null, authorities);
-
-                    // Set additional details
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                    logger.debug("✅ Authentication set successfully for user: {} with authorities: {}",
-                            email, authorities);
-
-                } else {
-                    logger.warn("❌ Token validation failed for user: {}", email);
-                    sendUnauthorizedResponse(request, response, "Token validation failed",
-                            "Token is expired or invalid. Please login again");
-                    return;
-                }
-
-            } catch (Exception e) {
-                logger.error("❌ Error during token validation for user {}: {}", email, e.getMessage());
-                sendUnauthorizedResponse(request, response, "Authentication error",
-                        "Please login again");
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            if (claims.isExpired()) {
+                logger.warn("❌ Token validation failed for user: {}", claims.getEmail());
+                sendUnauthorizedResponse(request, response, UnauthorizedReason.TOKEN_EXPIRED);
                 return;
             }
+
+            String role = claims.getRole();
+            logger.debug("✅ Token validated successfully for user: {} with role: {}", claims.getEmail(), role);
+
+            // Create authorities with ROLE_ prefix for Spring Security
+            List<GrantedAuthority> authorities = Collections.singletonList(
+                    new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())
+            );
+            logger.debug("Authorities being set: {}", authorities);
+
+            // Verified claims become the principal so services can read userId/role without re-parsing
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(claims, null, authorities);
+
+            // Set additional details
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+            // Set authentication in security context
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+
+            logger.debug("✅ Authentication set successfully for user: {} with authorities: {}",
+                    claims.getEmail(), authorities);
         }
 
+        request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
+
         // ✅ Continue with the request
         filterChain.doFilter(request, response);
     }
 
     /**
-     * Check if the given path should be excluded from JWT validation
-     * Uses startsWith to match /api/auth/login, /api/auth/login/*, etc.
+     * Fixed 401 error/message pairs with their JSON bodies pre-encoded as UTF-8.
+     * Only the timestamp is spliced in per response.
      */
-    private boolean isExcludedPath(String path) {
-        if (path == null || path.isEmpty()) {
-            return false;
+    private enum UnauthorizedReason {
+        MISSING_AUTHORIZATION("Missing Authorization", "Authorization header with Bearer token required"),
+        MISSING_EMAIL("Invalid token", "Token does not contain valid email"),
+        MISSING_ROLE("Invalid token", "Token does not contain valid role"),
+        INVALID_TOKEN("Invalid token", "Token format is invalid or expired"),
+        TOKEN_EXPIRED("Token validation failed", "Token is expired or invalid. Please login again");
+
+        private final String error;
+        private final String message;
+        private final byte[] bodyPrefix;
+
+        UnauthorizedReason(String error, String message) {
+            this.error = error;
+            this.message = message;
+            this.bodyPrefix = ("{\"error\":\"" + error + "\",\"message\":\"" + message
+                    + "\",\"success\":false,\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
         }
-
-        // Remove query parameters and fragments
-        String cleanPath = path.split("\\?")[0].split("#")[0];
-
-        boolean isExcluded = EXCLUDED_PATHS.stream().anyMatch(excludedPath ->
-                cleanPath.equals(excludedPath) || cleanPath.startsWith(excludedPath + "/")
-        );
-
-        if (isExcluded) {
-            logger.info("✅ Path is public (excluded from JWT): {}", cleanPath);
-        }
-
-        return isExcluded;
     }
 
+    private static final byte[] UNAUTHORIZED_BODY_SUFFIX = "\",\"status\":401}".getBytes(StandardCharsets.UTF_8);
+
     /**
      * Send a standardized unauthorized response with proper CORS headers
      */
     private void sendUnauthorizedResponse(HttpServletRequest request, HttpServletResponse response,
-                                          String error, String message) throws IOException {
+                                          UnauthorizedReason reason) throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
+        response.setContentType("application/json;charset=UTF-8");
 
         // Add CORS headers to error response
         String origin = request.getHeader("Origin");
-        if (origin != null && isAllowedOrigin(origin)) {
+        if (originPolicy.isAllowed(origin)) {
             response.setHeader("Access-Control-Allow-Origin", origin);
             response.setHeader("Access-Control-Allow-Credentials", "true");
-        } else {
-            response.setHeader("Access-Control-Allow-Origin", "https://kalvitrack.vercel.app");
+        } else if (originPolicy.getDefaultOrigin() != null) {
+            response.setHeader("Access-Control-Allow-Origin", originPolicy.getDefaultOrigin());
             response.setHeader("Access-Control-Allow-Credentials", "true");
         }
 
         response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS, PATCH, HEAD");
         response.setHeader("Access-Control-Allow-Headers", "Authorization, Content-Type, Accept, Origin, X-Requested-With");
 
-        String jsonResponse = String.format(
-                "{\"error\":\"%s\",\"message\":\"%s\",\"success\":false,\"timestamp\":\"%s\",\"status\":401}",
-                error, message, Instant.now().toString()
-        );
+        // Instant.toString() is ISO-8601, pure ASCII
+        byte[] timestamp = Instant.now().toString().getBytes(StandardCharsets.US_ASCII);
+        response.setContentLength(reason.bodyPrefix.length + timestamp.length + UNAUTHORIZED_BODY_SUFFIX.length);
 
-        response.getWriter().write(jsonResponse);
-        logger.debug("Sent 401 unauthorized response: {}", jsonResponse);
-    }
+        ServletOutputStream out = response.getOutputStream();
+        out.write(reason.bodyPrefix);
+        out.write(timestamp);
+        out.write(UNAUTHORIZED_BODY_SUFFIX);
+        out.flush();
 
-    /**
-     * Check if origin is allowed based on configured patterns
-     */
-    private boolean isAllowedOrigin(String origin) {
-        if (origin == null) return false;
-
-        return origin.equals("https://kalvitrack.vercel.app") ||
-                origin.matches("https://.*\\.vercel\\.app") ||
-                origin.matches("https://.*\\.cloudfront\\.net") ||
-                origin.matches("http://localhost:[0-9]+");
+        logger.debug("Sent 401 unauthorized response: {} - {}", reason.error, reason.message);
     }
 
     @Override
@@ -268,35 +202,13 @@ public class JwtFilter extends OncePerRequestFilter {
             return true;
         }
 
-        // Skip filtering for static resources and health checks
-        if (requestURI.startsWith("/actuator/") ||
-                requestURI.startsWith("/static/") ||
-                requestURI.startsWith("/webjars/") ||
-                requestURI.equals("/favicon.ico") ||
-                requestURI.equals("/health")) {
-            logger.debug("✅ shouldNotFilter = true for static/health resource: {}", requestURI);
+        // Public and excluded paths never need the JWT filter
+        RouteMatcher.RouteType routeType = routeMatcher.classify(requestURI);
+        if (routeType != RouteMatcher.RouteType.PROTECTED) {
+            logger.debug("✅ shouldNotFilter = true for {} path: {}", routeType, requestURI);
             return true;
         }
 
         return false;
     }
-    /**
-     * Check if the endpoint is public and doesn't require authentication
-     */
-    private boolean isPublicEndpoint(String uri, String method) {
-        // OPTIONS requests (CORS preflight)
-        if ("OPTIONS".equalsIgnoreCase(method)) {
-            return true;
-        }
-
-        // Public endpoints
-        return uri.equals("/api/auth/login") ||
-                uri.equals("/api/auth/forgot-password") ||
-                uri.equals("/api/auth/reset-password") ||
-                uri.equals("/api/auth/validate-reset-token") ||
-                uri.equals("/api/students/verify-email") ||
-                uri.equals("/api/students/complete-registration") ||
-                uri.equals("/health") ||
-                uri.equals("/api/health");
-    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
@@ -20,6 +21,10 @@ public class JwtUtil {
 
     @Value("${jwt.expiration:86400000}")
     private long EXPIRATION;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
     public String getRoleFromToken(String token) {
         return extractRole(token);
     }
@@ -59,6 +64,58 @@ public class JwtUtil {
         return null;
     }
 
+    /**
+     * Parse and verify the token once, returning the claims the rest of the request needs
+     */
+    public JwtClaims parseVerifiedClaims(String token) {
+        String cacheKey = VerifiedTokenCache.keyFor(token);
+        JwtClaims cached = tokenCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtClaims claims = new JwtClaims(extractClaims(token));
+        if (tokenCache.isRevoked(claims)) {
+            logger.warn("Rejected revoked token for {}", claims.getEmail());
+            throw new RuntimeException("Token has been revoked");
+        }
+        tokenCache.put(cacheKey, claims);
+        return claims;
+    }
+
+    /**
+     * Verified claims for the current request - set by JwtFilter, parsed from the header only as a fallback
+     */
+    public JwtClaims getVerifiedClaims(HttpServletRequest request) {
+        Object attribute = request.getAttribute(JwtClaims.REQUEST_ATTRIBUTE);
+        if (attribute instanceof JwtClaims claims) {
+            return claims;
+        }
+
+        String token = getTokenFromRequest(request);
+        if (token == null) {
+            return null;
+        }
+        try {
+            JwtClaims claims = parseVerifiedClaims(token);
+            request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
+            return claims;
+        } catch (Exception e) {
+            logger.error("Error extracting claims from request: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public Long getUserIdFromRequest(HttpServletRequest request) {
+        JwtClaims claims = getVerifiedClaims(request);
+        return claims != null ? claims.getUserId() : null;
+    }
+
+    public String getRoleFromRequest(HttpServletRequest request) {
+        JwtClaims claims = getVerifiedClaims(request);
+        return claims != null ? claims.getRole() : null;
+    }
+
     public Long getUserIdFromToken(String token) {
         try {
             Claims claims = Jwts.parser()
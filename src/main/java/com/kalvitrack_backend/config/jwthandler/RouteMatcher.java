@@ -0,0 +1,166 @@
+package com.kalvitrack_backend.config.jwthandler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies request paths as PUBLIC, EXCLUDED or PROTECTED for JwtFilter.
+ * All route lists live here and are compiled once at startup into a character trie,
+ * so a lookup walks the path once - O(path length), no regex, no allocation.
+ */
+@Component
+public class RouteMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteMatcher.class);
+
+    public enum RouteType {
+        PUBLIC,     // exact public endpoint (login, registration, health)
+        EXCLUDED,   // path or sub-path excluded from JWT validation
+        PROTECTED   // requires a valid bearer token
+    }
+
+    // Public endpoints that don't require authentication - exact match only
+    private static final List<String> PUBLIC_PATHS = Arrays.asList(
+            "/api/auth/login",
+            "/api/auth/forgot-password",
+            "/api/auth/reset-password",
+            "/api/auth/validate-reset-token",
+            "/api/students/verify-email",
+            "/api/students/complete-registration",
+            "/health",
+            "/api/health"
+    );
+
+    // Excluded from JWT validation - matches the path itself and everything below it
+    private static final List<String> EXCLUDED_PATHS = Arrays.asList(
+            // Authentication endpoints
+            "/api/auth/login",
+            "/api/auth/admin/login",
+            "/api/auth/hr/login",
+            "/api/auth/faculty/login",
+            "/api/auth/panelists/login",
+            "/api/auth/register",
+            "/api/auth/forgot-password",
+            "/api/auth/reset-password",
+            "/api/auth/validate-reset-token",
+            "/api/admin/login",
+
+            // Student registration endpoints (public)
+            "/api/students/verify-email",
+            "/api/students/complete-registration",
+
+            // Password reset endpoints
+            "/api/password-reset",
+            "/api/password-reset/initiate",
+            "/api/password-reset/complete",
+            "/api/password-reset/validate-token",
+
+            // Health and monitoring
+            "/api/health",
+            "/health",
+            "/actuator",
+
+            // Documentation
+            "/swagger-ui",
+            "/v3/api-docs",
+            "/swagger-resources",
+            "/webjars",
+
+            // Static resources
+            "/public",
+            "/static",
+            "/favicon.ico"
+    );
+
+    private final Node root = new Node();
+
+    public RouteMatcher() {
+        EXCLUDED_PATHS.forEach(path -> insert(path).prefixMatch = true);
+        PUBLIC_PATHS.forEach(path -> insert(path).exactMatch = true);
+        logger.info("Route matcher compiled: {} public, {} excluded paths", PUBLIC_PATHS.size(), EXCLUDED_PATHS.size());
+    }
+
+    /**
+     * Classify a request URI. Anything after '?' or '#' is ignored.
+     */
+    public RouteType classify(String path) {
+        if (path == null || path.isEmpty()) {
+            return RouteType.PROTECTED;
+        }
+
+        RouteType result = RouteType.PROTECTED;
+        Node node = root;
+        int length = path.length();
+
+        for (int i = 0; i <= length; i++) {
+            boolean atEnd = i == length || path.charAt(i) == '?' || path.charAt(i) == '#';
+
+            if (atEnd) {
+                if (node.exactMatch) {
+                    return RouteType.PUBLIC;
+                }
+                return node.prefixMatch ? RouteType.EXCLUDED : result;
+            }
+
+            // "/static" matches "/static/app.js" but not "/staticfoo"
+            if (node.prefixMatch && path.charAt(i) == '/') {
+                result = RouteType.EXCLUDED;
+            }
+
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    public boolean isProtected(String path) {
+        return classify(path) == RouteType.PROTECTED;
+    }
+
+    private Node insert(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Trie node - children kept in parallel arrays (fan-out is tiny) to avoid boxing on lookup
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean exactMatch;
+        private boolean prefixMatch;
+
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.kalvitrack_backend.config.jwthandler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache of already-verified JWT claims, keyed by the SHA-256 of the token.
+ * A repeat request with the same bearer token skips HMAC verification and JSON decoding.
+ * Entries never outlive the token's exp claim, and tokens of a user can be revoked
+ * (e.g. after a password reset) - anything issued before the revocation is rejected.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final int maxSize;
+    private final long tokenLifetimeSeconds;
+
+    // Access-ordered LinkedHashMap = LRU; guarded by synchronized(entries)
+    private final LinkedHashMap<String, JwtClaims> entries;
+
+    // email -> epoch second before which every token of that user is revoked
+    private final ConcurrentHashMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.expiration:86400000}") long expirationMillis) {
+        this.maxSize = maxSize;
+        this.tokenLifetimeSeconds = expirationMillis / 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtClaims> eldest) {
+                if (size() > VerifiedTokenCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        logger.info("Verified token cache initialised with max size {}", maxSize);
+    }
+
+    /**
+     * Return cached claims for the token, or null on a miss (unknown, expired or revoked)
+     */
+    public JwtClaims get(String key) {
+        if (maxSize <= 0) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        JwtClaims claims;
+        synchronized (entries) {
+            claims = entries.get(key);
+            if (claims != null && (claims.isExpired() || isRevoked(claims))) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                claims = null;
+            }
+        }
+
+        if (claims == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return claims;
+    }
+
+    public void put(String key, JwtClaims claims) {
+        if (maxSize <= 0 || claims.getExpiration() == null || claims.isExpired()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, claims);
+        }
+    }
+
+    /**
+     * Revoke every token issued to this user up to now and drop them from the cache
+     */
+    public void revoke(String email) {
+        if (email == null) {
+            return;
+        }
+
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        revokedBefore.put(email, nowSeconds);
+
+        // Revocations older than the longest token lifetime can no longer match anything
+        revokedBefore.values().removeIf(cutoff -> cutoff < nowSeconds - tokenLifetimeSeconds);
+
+        int removed = 0;
+        synchronized (entries) {
+            Iterator<JwtClaims> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (email.equals(it.next().getEmail())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        evictions.addAndGet(removed);
+        logger.info("Revoked tokens for {} ({} cached entries dropped)", email, removed);
+    }
+
+    /**
+     * True if the token was issued before the user's latest revocation
+     */
+    public boolean isRevoked(JwtClaims claims) {
+        Long cutoff = revokedBefore.get(claims.getEmail());
+        if (cutoff == null) {
+            return false;
+        }
+        // iat has second precision - a token issued in the revocation second stays valid
+        return claims.getIssuedAt() == null || claims.getIssuedAt().getTime() / 1000 < cutoff;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("revokedUsers", revokedBefore.size());
+        return stats;
+    }
+
+    /**
+     * Cache key for a raw token - the token itself is never stored
+     */
+    public static String keyFor(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.kalvitrack_backend.controller;
 
 
+import com.kalvitrack_backend.config.jwthandler.VerifiedTokenCache;
 import com.kalvitrack_backend.entity.User;
 import com.kalvitrack_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,18 @@ public class AdminController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Hit/miss/eviction counters of the verified JWT cache
+    @GetMapping("/token-cache/stats")
+    public ResponseEntity<Map<String, Object>> tokenCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", verifiedTokenCache.getStats());
+        return ResponseEntity.ok(response);
+    }
+
     // Simple admin login without JWT for now
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> adminLogin(@RequestBody Map<String, String> credentials) {
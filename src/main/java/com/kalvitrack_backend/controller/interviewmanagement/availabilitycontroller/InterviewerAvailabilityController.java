@@ -1,27 +1,26 @@
 package com.kalvitrack_backend.controller.interviewmanagement.availabilitycontroller;
 
+import com.kalvitrack_backend.config.jwthandler.JwtClaims;
 import com.kalvitrack_backend.config.jwthandler.JwtUtil;
 import com.kalvitrack_backend.dto.availability.InterviewerAvailabilityDTO;
 import com.kalvitrack_backend.entity.Interviewer;
 import com.kalvitrack_backend.entity.InterviewerAvailability;
-import com.kalvitrack_backend.entity.User;
 import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
 import com.kalvitrack_backend.repository.InterviewerRepository;
-import com.kalvitrack_backend.repository.UserRepository;
+import com.kalvitrack_backend.service.availability.AvailableSlotGrid;
 import com.kalvitrack_backend.service.availability.InterviewerAvailabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/panelists")
@@ -41,7 +40,7 @@ public class InterviewerAvailabilityController {
     private InterviewerRepository interviewerRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private AvailableSlotGrid slotGrid;
 
     /**
      * Submit interviewer availability
@@ -52,9 +51,9 @@ public class InterviewerAvailabilityController {
             @RequestBody InterviewerAvailabilityDTO availabilityDTO,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String userRole = jwtUtil.getRoleFromToken(token);
+            JwtClaims claims = jwtUtil.getVerifiedClaims(request);
+            Long userId = claims != null ? claims.getUserId() : null;
+            String userRole = claims != null ? claims.getRole() : null;
 
             if (!userRole.equals("INTERVIEW_PANELIST") && !userRole.equals("FACULTY")) {
                 return ResponseEntity.status(403).body(Map.of(
@@ -73,6 +72,11 @@ public class InterviewerAvailabilityController {
                     "totalSlots", savedAvailabilities.size()
             ));
 
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(Map.of(
+                    "success", false,
+                    "message", "Some of your availability was booked or changed while saving. Please refresh and try again"
+            ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -93,8 +97,7 @@ public class InterviewerAvailabilityController {
     @PreAuthorize("hasRole('INTERVIEW_PANELIST') or hasRole('FACULTY')")
     public ResponseEntity<?> getMyAvailability(HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             if (userId == null) {
                 return ResponseEntity.status(401).body(Map.of(
@@ -157,121 +160,31 @@ public class InterviewerAvailabilityController {
         if (startDate == null) startDate = LocalDate.now();
         if (endDate == null) endDate = startDate.plusMonths(1);
 
-        // Get all available slots (original blocks)
-        List<InterviewerAvailability> availableSlots = availabilityRepository
-                .findAvailableSlots(startDate, endDate);
-
-        System.out.println("Found " + availableSlots.size() + " availability blocks");
-
-        // Group by interviewer and date, then split
-        Map<String, List<InterviewerAvailability>> groupedSlots = availableSlots.stream()
-                .collect(Collectors.groupingBy(slot ->
-                        slot.getInterviewerId() + "_" + slot.getAvailableDate().toString()
-                ));
-
-        List<Map<String, Object>> results = new ArrayList<>();
-
-        for (Map.Entry<String, List<InterviewerAvailability>> entry : groupedSlots.entrySet()) {
-            List<InterviewerAvailability> daySlots = entry.getValue();
-            if (daySlots.isEmpty()) continue;
-
-            InterviewerAvailability firstSlot = daySlots.get(0);
-
-            // Get interviewer details
-            Interviewer interviewer = interviewerRepository.findById(firstSlot.getInterviewerId())
-                    .orElse(null);
-            if (interviewer == null) continue;
-
-            User user = userRepository.findById(interviewer.getUserId())
-                    .orElse(null);
-            if (user == null) continue;
-
-            // Split the blocks into slots of selected duration
-            List<Map<String, String>> splitSlots = new ArrayList<>();
-
-            for (InterviewerAvailability block : daySlots) {
-                List<Map<String, String>> blockSlots = splitTimeBlock(
-                        block.getStartTime(),
-                        block.getEndTime(),
-                        slotDuration,
-                        block.getAvailabilityId()
-                );
-                splitSlots.addAll(blockSlots);
-            }
-
-            if (splitSlots.isEmpty()) continue;
-
-            Map<String, Object> slotInfo = new HashMap<>();
-            slotInfo.put("interviewerId", firstSlot.getInterviewerId());
-            slotInfo.put("userId", interviewer.getUserId()); // ✅ This is what frontend expects
-            slotInfo.put("interviewerName", user.getFullName());
-            slotInfo.put("interviewerEmail", user.getEmail());
-            slotInfo.put("interviewerRole", user.getRole().toString());
-            slotInfo.put("date", firstSlot.getAvailableDate().toString());
-            slotInfo.put("totalSlots", splitSlots.size());
-            slotInfo.put("slots", splitSlots);
-            slotInfo.put("notes", firstSlot.getNotes());
-
-            // Time range summary
-            LocalTime earliestStart = daySlots.stream()
-                    .map(InterviewerAvailability::getStartTime)
-                    .min(LocalTime::compareTo)
-                    .orElse(null);
-            LocalTime latestEnd = daySlots.stream()
-                    .map(InterviewerAvailability::getEndTime)
-                    .max(LocalTime::compareTo)
-                    .orElse(null);
-
-            slotInfo.put("timeRange", earliestStart + " - " + latestEnd);
-
-            results.add(slotInfo);
-        }
-
-        System.out.println("=== RETURNING " + results.size() + " GROUPED SLOTS ===");
-
-        return ResponseEntity.ok(Map.of(
-                "success", true,
-                "data", results,
-                "totalInterviewers", results.size()
-        ));
-    }
-
-    /**
-     * Helper: Split time block into slots
-     */
-    private List<Map<String, String>> splitTimeBlock(
-            LocalTime startTime,
-            LocalTime endTime,
-            int durationMinutes,
-            Long availabilityId) {
-
-        List<Map<String, String>> slots = new ArrayList<>();
-        LocalTime currentStart = startTime;
-
-        while (currentStart.plusMinutes(durationMinutes).isBefore(endTime) ||
-                currentStart.plusMinutes(durationMinutes).equals(endTime)) {
+        try {
+            // Served from the precomputed slot grid - no per-request splitting or per-interviewer lookups
+            List<Map<String, Object>> results = slotGrid.getAvailableSlots(startDate, endDate, slotDuration);
 
-            LocalTime slotEnd = currentStart.plusMinutes(durationMinutes);
+            System.out.println("=== RETURNING " + results.size() + " GROUPED SLOTS ===");
 
-            Map<String, String> slot = new HashMap<>();
-            slot.put("availabilityId", availabilityId.toString());
-            slot.put("startTime", currentStart.toString());
-            slot.put("endTime", slotEnd.toString());
-            slot.put("duration", String.valueOf(durationMinutes));
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "data", results,
+                    "totalInterviewers", results.size()
+            ));
 
-            slots.add(slot);
-            currentStart = slotEnd;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         }
-
-        return slots;
     }
 
     @GetMapping("/assigned-students")
     @PreAuthorize("hasRole('INTERVIEW_PANELIST') or hasRole('FACULTY')")
     public ResponseEntity<?> getAssignedStudents(HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             List<Map<String, Object>> assignedStudents =
                     availabilityService.getAssignedStudents(userId);
@@ -296,8 +209,7 @@ public class InterviewerAvailabilityController {
             @RequestBody InterviewerAvailabilityDTO.TimeSlot timeSlot,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             InterviewerAvailability updated = availabilityService.updateAvailability(
                     availabilityId, userId, timeSlot);
@@ -327,8 +239,7 @@ public class InterviewerAvailabilityController {
             @PathVariable Long availabilityId,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             availabilityService.deleteAvailability(availabilityId, userId);
 
@@ -7,27 +7,37 @@ import com.kalvitrack_backend.dto.registration.StudentRegistrationDto;
 import com.kalvitrack_backend.dto.studentspiresponse.ApiResponseDto;
 import com.kalvitrack_backend.entity.Student;
 import com.kalvitrack_backend.repository.StudentRepository;
+import com.kalvitrack_backend.service.resume.ResumeIndexService;
+import com.kalvitrack_backend.service.resume.ResumeLocation;
+import com.kalvitrack_backend.service.resume.ResumeStorageService;
+import com.kalvitrack_backend.service.resume.StoredResume;
 import com.kalvitrack_backend.service.studentregistration.AuthService;
+import com.kalvitrack_backend.service.studentregistration.StudentCsvImportService;
 import com.kalvitrack_backend.service.studentregistration.StudentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/students")
@@ -37,7 +47,16 @@ import java.util.UUID;
         "http://localhost:5174"})
 public class StudentController {
 
+    // Tomcat sendfile request attributes (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final StudentService studentService;
+    private final StudentCsvImportService studentCsvImportService;
+    private final ResumeStorageService resumeStorageService;
+    private final ResumeIndexService resumeIndexService;
     private final AuthService authService;
     private final StudentRepository studentRepository;
     /**
@@ -97,9 +116,8 @@ public class StudentController {
             CsvUploadResponseDto response = studentService.uploadStudentsFromCsv(file, uploadedBy);
 
             if (response.isSuccess()) {
-                log.info("CSV upload completed successfully: {} students uploaded",
-                        response.getSuccessfulRecords());
-                return ResponseEntity.ok(response);
+                log.info("CSV upload accepted as import job {}", response.getBatchId());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
             } else {
                 log.warn("CSV upload failed: {}", response.getMessage());
                 return ResponseEntity.badRequest().body(response);
@@ -112,6 +130,29 @@ public class StudentController {
                             List.of("Please try again later: " + e.getMessage())));
         }
     }
+    /**
+     * Progress of a CSV import job - Only HR and ADMIN can access
+     */
+    @GetMapping("/import-jobs/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable String jobId) {
+        if (!authService.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("success", false, "message", "Authentication required"));
+        }
+        if (!authService.canManageStudents()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("success", false, "message", "Access denied"));
+        }
+
+        return studentCsvImportService.getJob(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", studentCsvImportService.toStatus(job)
+                )))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("success", false, "message", "Import job not found")));
+    }
+
     // Add this to your StudentController.java
 
     /**
@@ -302,39 +343,16 @@ public class StudentController {
             String resumePath = null;
             if (resume != null && !resume.isEmpty()) {
                 try {
-                    // Validate file type
-                    String contentType = resume.getContentType();
-                    if (contentType == null || (!contentType.equals("application/pdf") &&
-                            !contentType.equals("application/msword") &&
-                            !contentType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document"))) {
-                        return ResponseEntity.badRequest().body(
-                                ApiResponseDto.error("Resume must be PDF, DOC, or DOCX format")
-                        );
-                    }
-
-                    // Validate file size (5MB max)
-                    if (resume.getSize() > 5 * 1024 * 1024) {
-                        return ResponseEntity.badRequest().body(
-                                ApiResponseDto.error("Resume file size must be less than 5MB")
-                        );
-                    }
-
-                    // Create uploads directory if it doesn't exist
-                    Path uploadsDir = Paths.get("uploads/resumes");
-                    Files.createDirectories(uploadsDir);
-
-                    // Generate unique filename
-                    String originalFilename = resume.getOriginalFilename();
-                    String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                    String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-
-                    // Save file
-                    Path filePath = uploadsDir.resolve(uniqueFilename);
-                    Files.copy(resume.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                    resumePath = filePath.toString();
+                    // Streamed to content-addressed storage; identical files are stored once
+                    StoredResume stored = resumeStorageService.store(resume);
+                    resumePath = stored.getKey();
 
                     log.info("Resume saved to: {}", resumePath);
 
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(
+                            ApiResponseDto.error(e.getMessage())
+                    );
                 } catch (IOException e) {
                     log.error("Error saving resume file: {}", e.getMessage(), e);
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -378,6 +396,84 @@ public class StudentController {
         }
     }
 
+    /**
+     * Download / preview a student's resume - HR, ADMIN, panelists, faculty, or the student themself.
+     * Supports conditional requests (ETag from the stored SHA-256, Last-Modified) and Range requests;
+     * full-file responses use Tomcat sendfile when the connector supports it.
+     * With S3 storage the client is redirected to a presigned URL instead.
+     */
+    @GetMapping("/{id}/resume")
+    public ResponseEntity<?> getResume(@PathVariable Long id,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) {
+        try {
+            if (!authService.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            boolean isOwner = authService.isStudent() && id.equals(authService.getCurrentUserId());
+            if (!isOwner && !authService.hasAnyRole("ADMIN", "HR", "INTERVIEW_PANELIST", "FACULTY")) {
+                log.warn("Unauthorized resume access attempt for student {} by: {}", id, authService.getCurrentUsername());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+
+            String resumeKey = studentRepository.findById(id).map(Student::getResumePath).orElse(null);
+            ResumeLocation location = resumeStorageService.locate(resumeKey).orElse(null);
+            if (location == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            if (!location.isLocalFile()) {
+                // Object storage: the client fetches it from a short-lived presigned URL
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .location(location.getRedirectUri())
+                        .cacheControl(CacheControl.noStore())
+                        .build();
+            }
+
+            Path file = location.getFile();
+
+            long length = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            String checksum = ResumeStorageService.checksumOf(file);
+            String etag = checksum != null
+                    ? "\"" + checksum + "\""
+                    : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+            // Sets ETag / Last-Modified and answers 304 when the client copy is current
+            if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+                return null;
+            }
+
+            String fileName = file.getFileName().toString();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM));
+            headers.setContentDisposition(ContentDisposition.inline()
+                    .filename("resume-" + id + fileName.substring(fileName.lastIndexOf('.')))
+                    .build());
+            // The URL is per student, not per content - always revalidate (cheap with the ETag)
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+            if (request.getHeader(HttpHeaders.RANGE) == null
+                    && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Zero-copy: Tomcat streams the file with sendfile once the headers are committed
+                request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, length);
+                headers.setContentLength(length);
+                return new ResponseEntity<>(headers, HttpStatus.OK);
+            }
+
+            // Spring serves Range requests for Resource bodies (206 / 416)
+            return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+
+        } catch (IOException e) {
+            log.error("Error serving resume for student {}", id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Get all students - Only HR and ADMIN can access
      */
@@ -499,6 +595,43 @@ public class StudentController {
         }
     }
 
+    /**
+     * Full-text search over resume contents - ADMIN, HR, INTERVIEW_PANELIST and FACULTY.
+     * Results are ranked by relevance; resumes are indexed in the background, so a freshly
+     * uploaded one appears within a few seconds.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchResumes(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if (!authService.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("success", false, "message", "Authentication required"));
+            }
+
+            if (!authService.hasAnyRole("ADMIN", "HR", "INTERVIEW_PANELIST", "FACULTY")) {
+                log.warn("Unauthorized resume search by: {}", authService.getCurrentUsername());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("success", false, "message", "Insufficient permissions"));
+            }
+
+            List<Map<String, Object>> results = resumeIndexService.search(query, limit);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "data", results,
+                    "total", results.size()
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error searching resumes", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("success", false, "message", "Failed to search resumes"));
+        }
+    }
+
     /**
      * Helper method to determine redirect path based on role
      */
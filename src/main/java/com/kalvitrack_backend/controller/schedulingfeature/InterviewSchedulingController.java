@@ -1,19 +1,25 @@
 package com.kalvitrack_backend.controller.schedulingfeature;
 
 import com.kalvitrack_backend.config.jwthandler.JwtUtil;
+import com.kalvitrack_backend.dto.scheduling.BulkScheduleRequestDTO;
 import com.kalvitrack_backend.dto.scheduling.ScheduleInterviewDTO;
 import com.kalvitrack_backend.entity.InterviewSession;
 import com.kalvitrack_backend.entity.Interviewer;
 import com.kalvitrack_backend.repository.InterviewSessionRepository;
 import com.kalvitrack_backend.repository.InterviewerRepository;
+import com.kalvitrack_backend.service.schedulingfeature.BulkInterviewSchedulingService;
 import com.kalvitrack_backend.service.schedulingfeature.InterviewSchedulingService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +31,9 @@ public class InterviewSchedulingController {
     @Autowired
     private InterviewSchedulingService interviewSchedulingService;
 
+    @Autowired
+    private BulkInterviewSchedulingService bulkInterviewSchedulingService;
+
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
@@ -41,8 +50,7 @@ public class InterviewSchedulingController {
             @RequestBody ScheduleInterviewDTO dto,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long hrUserId = jwtUtil.getUserIdFromToken(token);
+            Long hrUserId = jwtUtil.getUserIdFromRequest(request);
 
             Map<String, Object> result = interviewSchedulingService.scheduleInterview(dto, hrUserId);
 
@@ -52,6 +60,8 @@ public class InterviewSchedulingController {
                     "data", result
             ));
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered by handleConcurrentChange, not the catch-all below
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -66,12 +76,48 @@ public class InterviewSchedulingController {
         }
     }
 
+    /**
+     * Schedule many students at once into free interviewer slots (HR only).
+     * With dryRun=true only the plan is returned and nothing is saved.
+     */
+    @PostMapping("/schedule/bulk")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<?> scheduleInterviewsBulk(
+            @RequestBody BulkScheduleRequestDTO dto,
+            HttpServletRequest request) {
+        try {
+            Long hrUserId = jwtUtil.getUserIdFromRequest(request);
+
+            Map<String, Object> result = bulkInterviewSchedulingService.scheduleBulk(dto, hrUserId);
+
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", (dto.isDryRun() ? "Planned " : "Scheduled ") + result.get("scheduled")
+                            + " of " + result.get("requested") + " interviews",
+                    "data", result
+            ));
+
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered by handleConcurrentChange, not the catch-all below
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                    "success", false,
+                    "message", "Failed to schedule interviews: " + e.getMessage()
+            ));
+        }
+    }
+
     @GetMapping("/panelist/assigned-students")
     @PreAuthorize("hasAnyRole('INTERVIEW_PANELIST', 'FACULTY')")
     public ResponseEntity<?> getAssignedStudents(HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             // Get interviewer by user ID
             Interviewer interviewer = interviewerRepository.findByUserId(userId)
@@ -110,8 +156,7 @@ public class InterviewSchedulingController {
             @RequestBody Map<String, String> payload,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             // Get interviewer by user ID
             Interviewer interviewer = interviewerRepository.findByUserId(userId)
@@ -150,6 +195,8 @@ public class InterviewSchedulingController {
                     )
             ));
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered by handleConcurrentChange, not the catch-all below
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -174,8 +221,7 @@ public class InterviewSchedulingController {
             @RequestBody Map<String, String> payload,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = jwtUtil.getUserIdFromRequest(request);
 
             // Get interviewer by user ID
             Interviewer interviewer = interviewerRepository.findByUserId(userId)
@@ -223,6 +269,8 @@ public class InterviewSchedulingController {
                     )
             ));
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered by handleConcurrentChange, not the catch-all below
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -237,20 +285,35 @@ public class InterviewSchedulingController {
         }
     }
     /**
-     * Get all scheduled interviews (HR only)
+     * List scheduled interviews (HR only), newest first, one page at a time.
+     * Optional filters: from / to (interview date), status, interviewerId, hrUserId.
+     * Pass the returned nextCursor as ?cursor= to fetch the following page.
      */
-    @GetMapping("/scheduled")
+    @GetMapping({"", "/scheduled"})
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<?> getAllScheduledInterviews() {
+    public ResponseEntity<?> getAllScheduledInterviews(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) InterviewSession.SessionStatus status,
+            @RequestParam(required = false) Long interviewerId,
+            @RequestParam(required = false) Long hrUserId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<Map<String, Object>> interviews = interviewSchedulingService.getAllScheduledInterviews();
+            Map<String, Object> page = interviewSchedulingService.getScheduledInterviewsPage(
+                    from, to, status, interviewerId, hrUserId, cursor, limit);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "data", interviews,
-                    "total", interviews.size()
-            ));
+            Map<String, Object> response = new HashMap<>(page);
+            response.put("success", true);
+            // Kept for existing clients - number of interviews in this page
+            response.put("total", page.get("count"));
+            return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(Map.of(
@@ -269,8 +332,7 @@ public class InterviewSchedulingController {
             @PathVariable Long sessionId,
             HttpServletRequest request) {
         try {
-            String token = jwtUtil.getTokenFromRequest(request);
-            Long hrUserId = jwtUtil.getUserIdFromToken(token);
+            Long hrUserId = jwtUtil.getUserIdFromRequest(request);
 
             interviewSchedulingService.cancelInterview(sessionId, hrUserId);
 
@@ -279,6 +341,8 @@ public class InterviewSchedulingController {
                     "message", "Interview cancelled successfully"
             ));
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered by handleConcurrentChange, not the catch-all below
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -292,6 +356,42 @@ public class InterviewSchedulingController {
         }
     }
 
+    /**
+     * Move an interview to another availability slot (HR only); the old time is freed again
+     */
+    @PutMapping("/{sessionId}/reschedule")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<?> rescheduleInterview(
+            @PathVariable Long sessionId,
+            @RequestBody ScheduleInterviewDTO dto,
+            HttpServletRequest request) {
+        try {
+            Long hrUserId = jwtUtil.getUserIdFromRequest(request);
+
+            Map<String, Object> result = interviewSchedulingService.rescheduleInterview(sessionId, dto, hrUserId);
+
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "Interview rescheduled successfully",
+                    "data", result
+            ));
+
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered by handleConcurrentChange, not the catch-all below
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                    "success", false,
+                    "message", "Failed to reschedule interview: " + e.getMessage()
+            ));
+        }
+    }
+
     /**
      * Get student's interviews
      */
@@ -335,4 +435,15 @@ public class InterviewSchedulingController {
             ));
         }
     }
+
+    /**
+     * A session or availability row was updated concurrently (version check failed)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrentChange(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(409).body(Map.of(
+                "success", false,
+                "message", "This interview was changed by someone else at the same time. Please refresh and try again"
+        ));
+    }
 }
\ No newline at end of file
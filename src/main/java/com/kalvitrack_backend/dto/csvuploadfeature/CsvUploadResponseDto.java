@@ -31,6 +31,20 @@ public class CsvUploadResponseDto {
                 .build();
     }
 
+    /**
+     * Import accepted for background processing - batchId is the import job id to poll
+     */
+    public static CsvUploadResponseDto accepted(String jobId) {
+        return CsvUploadResponseDto.builder()
+                .success(true)
+                .message("CSV upload accepted - track progress at /api/students/import-jobs/" + jobId)
+                .batchId(jobId)
+                .totalRecords(0)
+                .successfulRecords(0)
+                .failedRecords(0)
+                .build();
+    }
+
     public static CsvUploadResponseDto failure(String message, List<String> errors) {
         return CsvUploadResponseDto.builder()
                 .success(false)
@@ -0,0 +1,16 @@
+package com.kalvitrack_backend.dto.scheduling;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class BulkScheduleRequestDTO {
+    private List<Long> studentIds;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Integer durationMinutes;
+    private String remarks;
+    private boolean dryRun; // Only return the plan, nothing is saved
+}
@@ -0,0 +1,42 @@
+package com.kalvitrack_backend.dto.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the interview listing: the (interviewDate, startTime, sessionId)
+ * of the last row returned. Sent to clients as an opaque URL-safe token.
+ */
+@Getter
+@AllArgsConstructor
+public class InterviewListCursor {
+
+    private final LocalDate interviewDate;
+    private final LocalTime startTime;
+    private final Long sessionId;
+
+    public String encode() {
+        String raw = interviewDate + "|" + startTime + "|" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static InterviewListCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new InterviewListCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
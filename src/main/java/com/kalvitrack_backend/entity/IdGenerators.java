@@ -0,0 +1,19 @@
+package com.kalvitrack_backend.entity;
+
+/**
+ * Shared settings for the pooled table ID generators of the high-volume entities.
+ * One row per table in id_generators holds the next unallocated id; each instance reserves
+ * ALLOCATION_SIZE ids per round-trip and hands them out from memory, so inserts of these
+ * entities can be batched (IDENTITY makes Hibernate insert row by row to read back each id).
+ * Rows are seeded from the current MAX(id) by migration 007, so existing ids never change.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "entity_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
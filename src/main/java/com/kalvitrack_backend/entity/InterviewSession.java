@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 public class InterviewSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("interview_sessions")
     @Column(name = "session_id")
     private Long sessionId;
 
@@ -68,6 +68,11 @@ public class InterviewSession {
     @Column(name = "updated_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock - concurrent edits of the same row fail instead of overwriting each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public enum SessionStatus {
         SCHEDULED, LINK_ADDED, COMPLETED, CANCELLED, RESCHEDULED, NO_SHOW
     }
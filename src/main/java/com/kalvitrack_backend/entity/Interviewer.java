@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 public class Interviewer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("interviewers")
     @Column(name = "interviewer_id")
     private Long interviewerId;
 
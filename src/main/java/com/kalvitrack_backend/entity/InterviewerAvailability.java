@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 public class InterviewerAvailability {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("interviewer_availability")
     @Column(name = "availability_id")
     private Long availabilityId;
 
@@ -54,6 +54,11 @@ public class InterviewerAvailability {
     @Column(name = "updated_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock - concurrent edits of the same row fail instead of overwriting each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 
 
     public InterviewerAvailability(Long interviewerId, LocalDate availableDate,
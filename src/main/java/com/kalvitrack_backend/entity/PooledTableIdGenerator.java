@@ -0,0 +1,48 @@
+package com.kalvitrack_backend.entity;
+
+import com.kalvitrack_backend.config.IdBlockAllocator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pooled table generator behind @PooledTableId: hands out ids from an in-memory block of
+ * IdGenerators.ALLOCATION_SIZE and reserves the next block through IdBlockAllocator.
+ *
+ * Used instead of @TableGenerator because Hibernate runs that allocation on a second connection
+ * taken from the application pool while the inserting transaction still holds its own; with
+ * every pooled connection held by an inserting thread that deadlocks until connection-timeout.
+ * IdBlockAllocator has its own small pool, so reserving a block never waits on the main one.
+ */
+public class PooledTableIdGenerator implements IdentifierGenerator {
+
+    private static final Set<String> NAMES = ConcurrentHashMap.newKeySet();
+
+    private final String name;
+    private long next = 1;
+    private long hi = 0;
+
+    public PooledTableIdGenerator(PooledTableId config) {
+        this.name = config.value();
+        NAMES.add(name);
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object object) {
+        if (next > hi) {
+            hi = IdBlockAllocator.allocate(name, IdGenerators.ALLOCATION_SIZE);
+            next = hi - IdGenerators.ALLOCATION_SIZE + 1;
+        }
+        return next++;
+    }
+
+    /**
+     * id_generators rows the mapped entities need, checked by IdBlockAllocator at startup
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(NAMES);
+    }
+}
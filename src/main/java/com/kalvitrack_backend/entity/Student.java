@@ -21,7 +21,7 @@ import java.time.Year;
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("students")
     @Column(name = "student_id")
     private Long id;
 
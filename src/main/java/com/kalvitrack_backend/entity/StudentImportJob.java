@@ -0,0 +1,88 @@
+package com.kalvitrack_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background student CSV import. Progress is checkpointed in the same transaction as each
+ * inserted chunk (lastRecordNumber), so an interrupted job resumes after its last committed chunk.
+ */
+@Entity
+@Table(name = "student_import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StudentImportJob {
+
+    @Id
+    @Column(name = "job_id", length = 64)
+    private String jobId;
+
+    @Column(name = "uploaded_by", nullable = false)
+    private String uploadedBy;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    // Stored copy of the upload, read again when the job resumes
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.QUEUED;
+
+    // CSV record number (header = 1) of the last row covered by a committed chunk
+    @Column(name = "last_record_number", nullable = false)
+    private Long lastRecordNumber = 0L;
+
+    @Column(name = "rows_processed", nullable = false)
+    private Integer rowsProcessed = 0;
+
+    @Column(name = "rows_succeeded", nullable = false)
+    private Integer rowsSucceeded = 0;
+
+    @Column(name = "rows_failed", nullable = false)
+    private Integer rowsFailed = 0;
+
+    // Row-level error messages, one per line (capped)
+    @Column(name = "errors", columnDefinition = "MEDIUMTEXT")
+    private String errors;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Heartbeat - bumped on every checkpoint; stale QUEUED/RUNNING jobs are picked up again
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        this.updatedAt = now;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
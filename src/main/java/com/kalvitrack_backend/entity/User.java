@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Getter @Setter @NoArgsConstructor
 public class User {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @PooledTableId("user_roles")
     @Column(name = "user_id")
     private Long userId;
 
@@ -0,0 +1,43 @@
+package com.kalvitrack_backend.repository;
+
+import com.kalvitrack_backend.entity.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Due rows (new, retrying, or SENDING with an expired lease). SKIP LOCKED lets several
+    // instances claim disjoint batches without blocking each other.
+    @Query(value = "SELECT * FROM email_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.attempts = e.attempts + 1, " +
+            "e.nextAttemptAt = :leaseUntil WHERE e.outboxId IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENT', e.sentAt = :sentAt, e.lastError = NULL " +
+            "WHERE e.outboxId IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :lastError WHERE e.outboxId = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutbox.Status status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    long countByStatus(EmailOutbox.Status status);
+}
@@ -1,13 +1,18 @@
 package com.kalvitrack_backend.repository;
 
 import com.kalvitrack_backend.entity.InterviewSession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,21 +22,86 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
     @Query("SELECT COUNT(i) > 0 FROM InterviewSession i WHERE i.studentId = :studentId AND i.isActive = true AND i.sessionStatus NOT IN ('CANCELLED', 'COMPLETED')")
     boolean existsActiveInterviewForStudent(@Param("studentId") Long studentId);
 
-    // ✅ Already correct
+    // Canonical half-open overlap test [start, end) - one range scan on idx_interview_sessions_interviewer_day.
+    // Back-to-back sessions (one ends when the next starts) do not overlap.
+    // Doesn't flush: sessions booked earlier in the same transaction are already pending in the
+    // conflict index, and flushing before every check would break bulk inserts into single rows.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
     @Query("SELECT COUNT(i) > 0 FROM InterviewSession i WHERE i.interviewerId = :interviewerId " +
             "AND i.interviewDate = :date AND i.isActive = true " +
             "AND i.sessionStatus NOT IN ('CANCELLED') " +
-            "AND ((i.startTime <= :startTime AND i.endTime > :startTime) " +
-            "OR (i.startTime < :endTime AND i.endTime >= :endTime) " +
-            "OR (i.startTime >= :startTime AND i.endTime <= :endTime))")
+            "AND i.startTime < :endTime AND i.endTime > :startTime")
     boolean hasOverlappingSession(@Param("interviewerId") Long interviewerId,
                                   @Param("date") LocalDate date,
                                   @Param("startTime") LocalTime startTime,
                                   @Param("endTime") LocalTime endTime);
 
-    // ✅ Already correct
-    @Query("SELECT i FROM InterviewSession i WHERE i.isActive = true ORDER BY i.interviewDate DESC, i.startTime DESC")
-    List<InterviewSession> findAllScheduledInterviews();
+    // Everything that blocks an interviewer's day, for the in-memory conflict index
+    @Query("SELECT i FROM InterviewSession i WHERE i.interviewerId = :interviewerId " +
+            "AND i.interviewDate = :date AND i.isActive = true " +
+            "AND i.sessionStatus NOT IN ('CANCELLED') " +
+            "ORDER BY i.startTime")
+    List<InterviewSession> findBookedSessionsForDay(@Param("interviewerId") Long interviewerId,
+                                                    @Param("date") LocalDate date);
+
+    // findBookedSessionsForDay for several days at once
+    @Query("SELECT i FROM InterviewSession i WHERE i.interviewerId = :interviewerId " +
+            "AND i.interviewDate IN :dates AND i.isActive = true " +
+            "AND i.sessionStatus NOT IN ('CANCELLED') " +
+            "ORDER BY i.interviewDate, i.startTime")
+    List<InterviewSession> findBookedSessionsForDays(@Param("interviewerId") Long interviewerId,
+                                                     @Param("dates") Collection<LocalDate> dates);
+
+    // Bulk variant of existsActiveInterviewForStudent - which of these students are already scheduled
+    @Query("SELECT DISTINCT i.studentId FROM InterviewSession i WHERE i.studentId IN :studentIds " +
+            "AND i.isActive = true AND i.sessionStatus NOT IN ('CANCELLED', 'COMPLETED')")
+    List<Long> findStudentIdsWithActiveInterview(@Param("studentIds") Collection<Long> studentIds);
+
+    // Sessions per (interviewerId, interviewDate) in a date range, for maxInterviewsPerDay checks
+    @Query("SELECT i.interviewerId, i.interviewDate, COUNT(i) FROM InterviewSession i " +
+            "WHERE i.interviewDate BETWEEN :fromDate AND :toDate AND i.isActive = true " +
+            "AND i.sessionStatus NOT IN ('CANCELLED') " +
+            "GROUP BY i.interviewerId, i.interviewDate")
+    List<Object[]> countSessionsPerInterviewerDay(@Param("fromDate") LocalDate fromDate,
+                                                  @Param("toDate") LocalDate toDate);
+
+    // Keyset pagination for the interview listing, newest first.
+    // Filters are optional (null = no filter); the page size comes from the Pageable.
+    @Query("SELECT i FROM InterviewSession i WHERE i.isActive = true " +
+            "AND (:fromDate IS NULL OR i.interviewDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR i.interviewDate <= :toDate) " +
+            "AND (:status IS NULL OR i.sessionStatus = :status) " +
+            "AND (:interviewerId IS NULL OR i.interviewerId = :interviewerId) " +
+            "AND (:hrUserId IS NULL OR i.scheduledByHr = :hrUserId) " +
+            "ORDER BY i.interviewDate DESC, i.startTime DESC, i.sessionId DESC")
+    List<InterviewSession> findInterviewPage(@Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate,
+                                             @Param("status") InterviewSession.SessionStatus status,
+                                             @Param("interviewerId") Long interviewerId,
+                                             @Param("hrUserId") Long hrUserId,
+                                             Pageable pageable);
+
+    // Next page after the cursor row (interviewDate, startTime, sessionId), same filters and order
+    @Query("SELECT i FROM InterviewSession i WHERE i.isActive = true " +
+            "AND (:fromDate IS NULL OR i.interviewDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR i.interviewDate <= :toDate) " +
+            "AND (:status IS NULL OR i.sessionStatus = :status) " +
+            "AND (:interviewerId IS NULL OR i.interviewerId = :interviewerId) " +
+            "AND (:hrUserId IS NULL OR i.scheduledByHr = :hrUserId) " +
+            "AND i.interviewDate <= :cursorDate " +
+            "AND (i.interviewDate < :cursorDate " +
+            "OR i.startTime < :cursorTime " +
+            "OR (i.startTime = :cursorTime AND i.sessionId < :cursorId)) " +
+            "ORDER BY i.interviewDate DESC, i.startTime DESC, i.sessionId DESC")
+    List<InterviewSession> findInterviewPageAfter(@Param("fromDate") LocalDate fromDate,
+                                                  @Param("toDate") LocalDate toDate,
+                                                  @Param("status") InterviewSession.SessionStatus status,
+                                                  @Param("interviewerId") Long interviewerId,
+                                                  @Param("hrUserId") Long hrUserId,
+                                                  @Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorTime") LocalTime cursorTime,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
 
     // ✅ FIXED: Parameter name changed from "id" to "studentId"
     List<InterviewSession> findByStudentIdAndIsActiveOrderByInterviewDateDesc(Long studentId, Boolean isActive);
@@ -2,6 +2,7 @@ package com.kalvitrack_backend.repository;
 
 
 import com.kalvitrack_backend.entity.InterviewerAvailability;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,10 +27,10 @@ public interface InterviewerAvailabilityRepository extends JpaRepository<Intervi
     List<InterviewerAvailability> findByInterviewerIdAndAvailableDateAndIsActive(
             Long interviewerId, LocalDate availableDate, Boolean isActive);
 
-    @Modifying
-    @Query("DELETE FROM InterviewerAvailability ia WHERE ia.interviewerId = :interviewerId AND ia.availableDate = :availableDate")
-    void deleteByInterviewerIdAndAvailableDate(@Param("interviewerId") Long interviewerId,
-                                               @Param("availableDate") LocalDate availableDate);
+    List<InterviewerAvailability> findByInterviewerIdAndAvailableDateIn(Long interviewerId, Collection<LocalDate> availableDates);
+
+    List<InterviewerAvailability> findByInterviewerIdAndAvailableDateAndIsBooked(
+            Long interviewerId, LocalDate availableDate, Boolean isBooked);
 
     @Query("SELECT ia FROM InterviewerAvailability ia " +
             "WHERE ia.isActive = true " +
@@ -39,6 +41,52 @@ public interface InterviewerAvailabilityRepository extends JpaRepository<Intervi
     List<InterviewerAvailability> findAvailableSlots(@Param("startDate") LocalDate startDate,
                                                      @Param("endDate") LocalDate endDate);
 
+    // Atomic slot claim: exactly one of several concurrent schedulers gets 1 back, the rest get 0
+    @Modifying
+    @Query("UPDATE InterviewerAvailability ia SET ia.isBooked = true, ia.isActive = false, " +
+            "ia.version = ia.version + 1, ia.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ia.availabilityId = :availabilityId AND ia.isBooked = false AND ia.isActive = true")
+    int claimSlot(@Param("availabilityId") Long availabilityId);
+
+    // Undo a claim taken earlier in the same transaction that ended up unused
+    @Modifying
+    @Query("UPDATE InterviewerAvailability ia SET ia.isBooked = false, ia.isActive = true, " +
+            "ia.version = ia.version + 1, ia.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ia.availabilityId = :availabilityId AND ia.isBooked = true")
+    int releaseClaim(@Param("availabilityId") Long availabilityId);
+
+    // (interviewerId, availableDate) pairs from fromDate on with free rows that touch or overlap each other,
+    // in key order after (afterInterviewerId, afterDate) - keyset pages for AvailabilityCompactionJob
+    @Query("SELECT DISTINCT a.interviewerId, a.availableDate FROM InterviewerAvailability a, InterviewerAvailability b " +
+            "WHERE a.interviewerId = b.interviewerId AND a.availableDate = b.availableDate " +
+            "AND a.availabilityId <> b.availabilityId AND a.availableDate >= :fromDate " +
+            "AND a.isActive = true AND a.isBooked = false AND b.isActive = true AND b.isBooked = false " +
+            "AND a.startTime <= b.startTime AND a.endTime >= b.startTime " +
+            "AND (a.interviewerId > :afterInterviewerId " +
+            "OR (a.interviewerId = :afterInterviewerId AND a.availableDate > :afterDate)) " +
+            "ORDER BY a.interviewerId, a.availableDate")
+    List<Object[]> findFragmentedDays(@Param("fromDate") LocalDate fromDate,
+                                      @Param("afterInterviewerId") Long afterInterviewerId,
+                                      @Param("afterDate") LocalDate afterDate,
+                                      Pageable pageable);
+
+    // (interviewerId, availableDate) pairs from fromDate on with a booked row no live session overlaps,
+    // in key order after (afterInterviewerId, afterDate)
+    @Query("SELECT DISTINCT ia.interviewerId, ia.availableDate FROM InterviewerAvailability ia " +
+            "WHERE ia.isBooked = true AND ia.availableDate >= :fromDate " +
+            "AND (ia.interviewerId > :afterInterviewerId " +
+            "OR (ia.interviewerId = :afterInterviewerId AND ia.availableDate > :afterDate)) " +
+            "AND NOT EXISTS (" +
+            "SELECT i FROM InterviewSession i WHERE i.interviewerId = ia.interviewerId " +
+            "AND i.interviewDate = ia.availableDate AND i.isActive = true " +
+            "AND i.sessionStatus NOT IN ('CANCELLED') " +
+            "AND i.startTime < ia.endTime AND i.endTime > ia.startTime) " +
+            "ORDER BY ia.interviewerId, ia.availableDate")
+    List<Object[]> findDaysWithUnusedClaims(@Param("fromDate") LocalDate fromDate,
+                                            @Param("afterInterviewerId") Long afterInterviewerId,
+                                            @Param("afterDate") LocalDate afterDate,
+                                            Pageable pageable);
+
     @Query("SELECT COUNT(ia) FROM InterviewerAvailability ia WHERE " +
             "ia.interviewerId = :interviewerId AND ia.availableDate = :date AND ia.isBooked = true")
     Long countBookedSlotsForInterviewerOnDate(@Param("interviewerId") Long interviewerId,
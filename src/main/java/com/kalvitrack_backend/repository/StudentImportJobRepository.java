@@ -0,0 +1,60 @@
+package com.kalvitrack_backend.repository;
+
+import com.kalvitrack_backend.entity.StudentImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentImportJobRepository extends JpaRepository<StudentImportJob, String> {
+
+    @Query("SELECT j FROM StudentImportJob j WHERE j.status IN ('QUEUED', 'RUNNING') AND j.updatedAt < :staleBefore")
+    List<StudentImportJob> findStaleJobs(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Conditional claim - only one instance wins a stale job
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.updatedAt = :now " +
+            "WHERE j.jobId = :jobId AND j.status IN ('QUEUED', 'RUNNING') AND j.updatedAt < :staleBefore")
+    int claimStale(@Param("jobId") String jobId,
+                   @Param("staleBefore") LocalDateTime staleBefore,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.updatedAt = :now WHERE j.jobId IN :jobIds")
+    int heartbeat(@Param("jobIds") Collection<String> jobIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.status = 'RUNNING', j.updatedAt = :now, " +
+            "j.startedAt = COALESCE(j.startedAt, :now) WHERE j.jobId = :jobId")
+    int markRunning(@Param("jobId") String jobId, @Param("now") LocalDateTime now);
+
+    // Advance the checkpoint - runs in the same transaction as the chunk's inserts
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.lastRecordNumber = :lastRecordNumber, " +
+            "j.rowsProcessed = j.rowsProcessed + :processed, " +
+            "j.rowsSucceeded = j.rowsSucceeded + :succeeded, " +
+            "j.rowsFailed = j.rowsFailed + :failed, " +
+            "j.errors = CONCAT(COALESCE(j.errors, ''), :errors), " +
+            "j.updatedAt = :now WHERE j.jobId = :jobId")
+    int recordChunk(@Param("jobId") String jobId,
+                    @Param("lastRecordNumber") long lastRecordNumber,
+                    @Param("processed") int processed,
+                    @Param("succeeded") int succeeded,
+                    @Param("failed") int failed,
+                    @Param("errors") String errors,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.status = :status, j.message = :message, " +
+            "j.finishedAt = :now, j.updatedAt = :now WHERE j.jobId = :jobId")
+    int finish(@Param("jobId") String jobId,
+               @Param("status") StudentImportJob.Status status,
+               @Param("message") String message,
+               @Param("now") LocalDateTime now);
+}
@@ -1,6 +1,7 @@
 package com.kalvitrack_backend.repository;
 
 import com.kalvitrack_backend.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,18 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     boolean existsByEmail(String email);
 
+    // Bulk existence check for imports - one IN query per chunk instead of one query per row
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Resume index catch-up: keyset page of students whose resume changed after (updatedAt, id)
+    @Query("SELECT s FROM Student s WHERE s.resumePath IS NOT NULL AND " +
+            "(s.updatedAt > :updatedAt OR (s.updatedAt = :updatedAt AND s.id > :id)) " +
+            "ORDER BY s.updatedAt, s.id")
+    List<Student> findResumesChangedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
     List<Student> findByRole(Student.StudentRole role);
     Optional<Student> findByResetPasswordToken(String resetPasswordToken);
     List<Student> findByStatus(Student.StudentStatus status);
@@ -1,5 +1,6 @@
 package com.kalvitrack_backend.service;
 
+import com.kalvitrack_backend.config.jwthandler.VerifiedTokenCache;
 import com.kalvitrack_backend.dto.ValidateTokenResponse;
 import com.kalvitrack_backend.entity.User;
 import com.kalvitrack_backend.entity.Student;
@@ -38,6 +39,9 @@ public class PasswordResetService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     private final EmailService emailService;
 
     @Value("${app.password.reset.token.expiry.hours:1}")
@@ -246,6 +250,9 @@ public class PasswordResetService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+
+        // Tokens issued with the old password must stop working
+        verifiedTokenCache.revoke(user.getEmail());
         logger.info("✅ Password reset completed for user: {} from IP: {}", user.getEmail(), clientIp);
         return "Password has been reset successfully";
     }
@@ -275,6 +282,8 @@ public class PasswordResetService {
         student.setUpdatedAt(LocalDateTime.now());
 
         studentRepository.save(student);
+
+        verifiedTokenCache.revoke(student.getEmail());
         logger.info("Password reset completed for student: {} from IP: {}", student.getEmail(), clientIp);
         return "Password has been reset successfully";
     }
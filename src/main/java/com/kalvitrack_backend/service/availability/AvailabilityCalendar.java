@@ -0,0 +1,290 @@
+package com.kalvitrack_backend.service.availability;
+
+import com.kalvitrack_backend.entity.InterviewSession;
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import com.kalvitrack_backend.repository.InterviewSessionRepository;
+import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An interviewer's free time per day modelled as a DayBitset of free five-minute ticks.
+ * Booking takes a session's ticks out of the day, cancelling puts them back, and the day's free
+ * interviewer_availability rows are then rewritten as a projection of the result: one row per
+ * maximal free run, so adjacent free time always comes back as a single block. Rows that already
+ * match a run are left alone, rows that moved are updated in place and only the rest is inserted
+ * or deleted (all versioned, so a concurrent edit of the same row fails instead of being lost).
+ *
+ * Booked rows taken with claim are not part of the free model; they are only deleted once no live
+ * session overlaps them any more. AvailabilityCompactionJob applies the same projection to
+ * existing data.
+ *
+ * A day with a row or session off the 5-minute grid can't be modelled; it falls back to adding
+ * the leftover pieces as rows without merging.
+ */
+@Service
+@Transactional
+public class AvailabilityCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityCalendar.class);
+
+    private final InterviewerAvailabilityRepository availabilityRepository;
+    private final InterviewSessionRepository interviewSessionRepository;
+    private final AvailableSlotGrid slotGrid;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AvailabilityCalendar(InterviewerAvailabilityRepository availabilityRepository,
+                                InterviewSessionRepository interviewSessionRepository,
+                                AvailableSlotGrid slotGrid) {
+        this.availabilityRepository = availabilityRepository;
+        this.interviewSessionRepository = interviewSessionRepository;
+        this.slotGrid = slotGrid;
+    }
+
+    /**
+     * Atomically mark a free block booked (see claimSlot); false if someone else got it first.
+     * The entity is refreshed so later queries in this transaction see it as booked.
+     */
+    public boolean claim(InterviewerAvailability block) {
+        if (availabilityRepository.claimSlot(block.getAvailabilityId()) == 0) {
+            return false;
+        }
+        entityManager.refresh(block);
+        return true;
+    }
+
+    /**
+     * Undo a claim from this transaction that ended up unused
+     */
+    public void unclaim(InterviewerAvailability block) {
+        availabilityRepository.releaseClaim(block.getAvailabilityId());
+        entityManager.refresh(block);
+    }
+
+    /**
+     * Give the parts of a claimed block not covered by the booked ranges back to the free pool,
+     * merged with whatever free time of that day they touch
+     */
+    public void book(InterviewerAvailability claimedBlock, List<TimeRange> booked) {
+        Long interviewerId = claimedBlock.getInterviewerId();
+        LocalDate date = claimedBlock.getAvailableDate();
+        List<InterviewerAvailability> freeRows = freeRows(interviewerId, date);
+
+        boolean aligned = isAligned(claimedBlock) && freeRows.stream().allMatch(AvailabilityCalendar::isAligned)
+                && booked.stream().allMatch(range -> DayBitset.isAligned(range.start()) && DayBitset.isAligned(range.end()));
+
+        if (aligned) {
+            DayBitset free = toBitset(freeRows).or(DayBitset.of(claimedBlock.getStartTime(), claimedBlock.getEndTime()));
+            booked.forEach(range -> free.andNot(DayBitset.of(range.start(), range.end())));
+            project(interviewerId, date, freeRows, free, claimedBlock);
+        } else {
+            addLeftoverPieces(claimedBlock, booked);
+        }
+        slotGrid.markChanged(interviewerId, date);
+    }
+
+    /**
+     * Return [start, end) to the interviewer's free pool for that day, merged with adjacent free time.
+     * Time still covered by a live session (e.g. the new slot of a reschedule) stays booked, and
+     * claimed rows that no longer back any live session are removed.
+     */
+    public void release(Long interviewerId, LocalDate date, LocalTime start, LocalTime end) {
+        List<InterviewerAvailability> freeRows = freeRows(interviewerId, date);
+        List<InterviewSession> sessions = interviewSessionRepository.findBookedSessionsForDay(interviewerId, date);
+        InterviewerAvailability template = freeRows.isEmpty() ? null : freeRows.get(0);
+
+        if (DayBitset.isAligned(start) && DayBitset.isAligned(end) && isAligned(freeRows, sessions)) {
+            DayBitset free = toBitset(freeRows).or(DayBitset.of(start, end)).andNot(busyTicks(sessions));
+            project(interviewerId, date, freeRows, free, template);
+        } else {
+            InterviewerAvailability row = newRow(interviewerId, date, template);
+            row.setStartTime(start);
+            row.setEndTime(end);
+            availabilityRepository.save(row);
+        }
+        removeUnusedClaims(interviewerId, date, sessions);
+        slotGrid.markChanged(interviewerId, date);
+    }
+
+    /**
+     * Defragment one interviewer-day: merge touching or overlapping free rows, cut out time a live
+     * session already occupies and drop claimed rows left behind by cancelled sessions.
+     * Returns true if anything was rewritten.
+     */
+    public boolean compact(Long interviewerId, LocalDate date) {
+        List<InterviewerAvailability> freeRows = freeRows(interviewerId, date);
+        List<InterviewSession> sessions = interviewSessionRepository.findBookedSessionsForDay(interviewerId, date);
+
+        boolean changed = false;
+        if (isAligned(freeRows, sessions)) {
+            DayBitset free = toBitset(freeRows).andNot(busyTicks(sessions));
+            changed = project(interviewerId, date, freeRows, free, freeRows.isEmpty() ? null : freeRows.get(0));
+        }
+        changed |= removeUnusedClaims(interviewerId, date, sessions);
+
+        if (changed) {
+            slotGrid.markChanged(interviewerId, date);
+        }
+        return changed;
+    }
+
+    /**
+     * Active, unbooked rows of one interviewer-day
+     */
+    private List<InterviewerAvailability> freeRows(Long interviewerId, LocalDate date) {
+        List<InterviewerAvailability> rows = new ArrayList<>();
+        for (InterviewerAvailability row : availabilityRepository.findByInterviewerIdAndAvailableDateAndIsActive(interviewerId, date, true)) {
+            if (!Boolean.TRUE.equals(row.getIsBooked())) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Claimed (booked) rows of the day that no live session overlaps any more - left behind when
+     * their session was cancelled or moved - are deleted
+     */
+    private boolean removeUnusedClaims(Long interviewerId, LocalDate date, List<InterviewSession> sessions) {
+        List<InterviewerAvailability> unused = new ArrayList<>();
+        for (InterviewerAvailability claim : availabilityRepository.findByInterviewerIdAndAvailableDateAndIsBooked(interviewerId, date, true)) {
+            boolean backsSession = sessions.stream().anyMatch(session ->
+                    session.getStartTime().isBefore(claim.getEndTime()) && session.getEndTime().isAfter(claim.getStartTime()));
+            if (!backsSession) {
+                unused.add(claim);
+            }
+        }
+        availabilityRepository.deleteAll(unused);
+        return !unused.isEmpty();
+    }
+
+    private static boolean isAligned(InterviewerAvailability row) {
+        return DayBitset.isAligned(row.getStartTime()) && DayBitset.isAligned(row.getEndTime());
+    }
+
+    private static boolean isAligned(List<InterviewerAvailability> rows, List<InterviewSession> sessions) {
+        return rows.stream().allMatch(AvailabilityCalendar::isAligned)
+                && sessions.stream().allMatch(session -> DayBitset.isAligned(session.getStartTime()) && DayBitset.isAligned(session.getEndTime()));
+    }
+
+    private static DayBitset busyTicks(List<InterviewSession> sessions) {
+        DayBitset busy = new DayBitset();
+        for (InterviewSession session : sessions) {
+            busy.set(DayBitset.tickOf(session.getStartTime()), DayBitset.endTickOf(session.getEndTime()));
+        }
+        return busy;
+    }
+
+    private static DayBitset toBitset(List<InterviewerAvailability> rows) {
+        DayBitset bitset = new DayBitset();
+        for (InterviewerAvailability row : rows) {
+            bitset.set(DayBitset.tickOf(row.getStartTime()), DayBitset.endTickOf(row.getEndTime()));
+        }
+        return bitset;
+    }
+
+    /**
+     * Rewrite the day's free rows so there is exactly one per run of free ticks; true if any row changed
+     */
+    private boolean project(Long interviewerId, LocalDate date, List<InterviewerAvailability> rows,
+                         DayBitset free, InterviewerAvailability template) {
+        List<InterviewerAvailability> spare = new ArrayList<>(rows);
+        List<int[]> unmatched = new ArrayList<>();
+
+        for (int[] run : free.runs()) {
+            InterviewerAvailability exact = spare.stream()
+                    .filter(row -> DayBitset.tickOf(row.getStartTime()) == run[0] && DayBitset.endTickOf(row.getEndTime()) == run[1])
+                    .findFirst().orElse(null);
+            if (exact != null) {
+                spare.remove(exact);
+            } else {
+                unmatched.add(run);
+            }
+        }
+
+        List<InterviewerAvailability> changed = new ArrayList<>(unmatched.size());
+        for (int[] run : unmatched) {
+            // Reuse a row the run grew out of, keeping its id and notes
+            InterviewerAvailability row = spare.stream()
+                    .filter(candidate -> DayBitset.tickOf(candidate.getStartTime()) < run[1]
+                            && DayBitset.endTickOf(candidate.getEndTime()) > run[0])
+                    .findFirst().orElse(null);
+            if (row != null) {
+                spare.remove(row);
+            } else {
+                row = newRow(interviewerId, date, template);
+            }
+            row.setStartTime(DayBitset.timeOf(run[0]));
+            row.setEndTime(DayBitset.timeOf(run[1]));
+            changed.add(row);
+        }
+
+        availabilityRepository.saveAll(changed);
+        availabilityRepository.deleteAll(spare);
+
+        if (!changed.isEmpty() || !spare.isEmpty()) {
+            logger.debug("Availability of interviewer {} on {}: {} rows written, {} removed", interviewerId, date, changed.size(), spare.size());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Off-grid fallback: save the gaps around the booked ranges inside the block as they are
+     */
+    private void addLeftoverPieces(InterviewerAvailability block, List<TimeRange> booked) {
+        List<TimeRange> ordered = new ArrayList<>(booked);
+        ordered.sort(Comparator.comparing(TimeRange::start));
+
+        List<InterviewerAvailability> pieces = new ArrayList<>();
+        LocalTime gapStart = block.getStartTime();
+        for (TimeRange range : ordered) {
+            if (gapStart.isBefore(range.start())) {
+                pieces.add(piece(block, gapStart, range.start()));
+            }
+            if (range.end().isAfter(gapStart)) {
+                gapStart = range.end();
+            }
+        }
+        if (gapStart.isBefore(block.getEndTime())) {
+            pieces.add(piece(block, gapStart, block.getEndTime()));
+        }
+        availabilityRepository.saveAll(pieces);
+    }
+
+    private InterviewerAvailability piece(InterviewerAvailability block, LocalTime start, LocalTime end) {
+        InterviewerAvailability piece = newRow(block.getInterviewerId(), block.getAvailableDate(), block);
+        piece.setStartTime(start);
+        piece.setEndTime(end);
+        return piece;
+    }
+
+    private InterviewerAvailability newRow(Long interviewerId, LocalDate date, InterviewerAvailability template) {
+        InterviewerAvailability row = new InterviewerAvailability();
+        row.setInterviewerId(interviewerId);
+        row.setAvailableDate(date);
+        row.setIsBooked(false);
+        row.setIsActive(true);
+        if (template != null) {
+            row.setSlotDurationMinutes(template.getSlotDurationMinutes());
+            row.setMaxConcurrentInterviews(template.getMaxConcurrentInterviews());
+            row.setNotes(template.getNotes());
+        }
+        return row;
+    }
+
+    public record TimeRange(LocalTime start, LocalTime end) {
+    }
+}
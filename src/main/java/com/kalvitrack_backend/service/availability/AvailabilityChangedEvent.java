@@ -0,0 +1,20 @@
+package com.kalvitrack_backend.service.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an interviewer's availability for a day changes (submitted, edited, booked,
+ * released); the slot grid refreshes that day after the transaction commits
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AvailabilityChangedEvent {
+
+    private final Long interviewerId;
+    private final LocalDate date;
+}
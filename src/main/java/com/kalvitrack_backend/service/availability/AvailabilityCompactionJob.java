@@ -0,0 +1,102 @@
+package com.kalvitrack_backend.service.availability;
+
+import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Periodic defragmentation of interviewer availability from today on. Finds interviewer-days whose
+ * free rows touch or overlap, or that still carry claimed rows of cancelled sessions, and rewrites
+ * each through AvailabilityCalendar.compact in its own transaction. A day that fails (e.g. edited
+ * concurrently) is skipped and picked up again on the next run.
+ *
+ * Both candidate queries are walked with keyset pages ordered by (interviewerId, availableDate):
+ * each page starts after the last key of the previous one, so days that stay matching after their
+ * attempt (off the 5-minute grid, or failed) are passed over instead of filling the page again.
+ */
+@Component
+public class AvailabilityCompactionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityCompactionJob.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final InterviewerAvailabilityRepository availabilityRepository;
+    private final AvailabilityCalendar availabilityCalendar;
+
+    public AvailabilityCompactionJob(InterviewerAvailabilityRepository availabilityRepository,
+                                     AvailabilityCalendar availabilityCalendar) {
+        this.availabilityRepository = availabilityRepository;
+        this.availabilityCalendar = availabilityCalendar;
+    }
+
+    @Scheduled(cron = "${app.availability.compaction-cron:0 30 2 * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        long started = System.currentTimeMillis();
+        Totals totals = new Totals();
+
+        // A day found by both queries is compacted once
+        Set<DayKey> fragmented = compactAll(availabilityRepository::findFragmentedDays, today, Set.of(), totals);
+        compactAll(availabilityRepository::findDaysWithUnusedClaims, today, fragmented, totals);
+
+        if (totals.compacted > 0 || totals.failed > 0) {
+            logger.info("Availability compaction: {} interviewer-days compacted, {} failed in {} ms",
+                    totals.compacted, totals.failed, System.currentTimeMillis() - started);
+        }
+    }
+
+    /**
+     * Compact every day the query returns from today on, page by page; returns the days attempted
+     */
+    private Set<DayKey> compactAll(DayQuery query, LocalDate today, Set<DayKey> skip, Totals totals) {
+        Set<DayKey> attempted = new HashSet<>();
+        // Interviewer ids start at 1, so (0, today) comes before every candidate
+        DayKey after = new DayKey(0L, today);
+
+        while (true) {
+            List<Object[]> rows = query.find(today, after.interviewerId(), after.date(), PageRequest.of(0, BATCH_SIZE));
+            for (Object[] row : rows) {
+                DayKey day = new DayKey((Long) row[0], (LocalDate) row[1]);
+                after = day;
+                if (skip.contains(day)) {
+                    continue;
+                }
+                attempted.add(day);
+                try {
+                    if (availabilityCalendar.compact(day.interviewerId(), day.date())) {
+                        totals.compacted++;
+                    }
+                } catch (RuntimeException e) {
+                    totals.failed++;
+                    logger.warn("Could not compact availability of interviewer {} on {}: {}", day.interviewerId(), day.date(), e.getMessage());
+                }
+            }
+            if (rows.size() < BATCH_SIZE) {
+                return attempted;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DayQuery {
+        List<Object[]> find(LocalDate fromDate, Long afterInterviewerId, LocalDate afterDate, Pageable pageable);
+    }
+
+    private static final class Totals {
+        private int compacted;
+        private int failed;
+    }
+
+    private record DayKey(Long interviewerId, LocalDate date) {
+    }
+}
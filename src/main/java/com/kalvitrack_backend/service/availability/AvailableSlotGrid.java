@@ -0,0 +1,356 @@
+package com.kalvitrack_backend.service.availability;
+
+import com.kalvitrack_backend.entity.Interviewer;
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import com.kalvitrack_backend.entity.User;
+import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
+import com.kalvitrack_backend.repository.InterviewerRepository;
+import com.kalvitrack_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed free interview slots for the HR available-slots view.
+ *
+ * For every free availability block the start ticks of its 30/45/60-minute slots are kept as
+ * DayBitsets, grouped per interviewer and day together with the interviewer's display details.
+ * A date range is loaded with one block query plus one IN query each for interviewers and users;
+ * after that a month-wide request just walks set bits. Changes made through this instance
+ * (availability submitted, edited or deleted, slots booked) refresh only the affected
+ * interviewer-day after commit; loaded dates also expire after app.availability.grid-ttl-seconds
+ * so changes made on other instances show up.
+ */
+@Component
+public class AvailableSlotGrid {
+
+    public static final int[] COMMON_DURATIONS = {30, 45, 60};
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private final InterviewerAvailabilityRepository availabilityRepository;
+    private final InterviewerRepository interviewerRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+
+    private final Map<LocalDate, DateGrid> dates = new ConcurrentHashMap<>();
+    // Interviewer-days changed since they were loaded, with the sequence number of the latest change:
+    // a refresh or load clears only the marks it has seen, never one that arrived while it ran
+    private final Map<DayKey, Long> dirty = new ConcurrentHashMap<>();
+    private final AtomicLong changeSequence = new AtomicLong();
+    // Dates with a load in progress (count of concurrent loads), so changes committed meanwhile are kept
+    private final Map<LocalDate, Integer> loading = new ConcurrentHashMap<>();
+
+    public AvailableSlotGrid(InterviewerAvailabilityRepository availabilityRepository,
+                             InterviewerRepository interviewerRepository,
+                             UserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.availability.grid-ttl-seconds:60}") long ttlSeconds) {
+        this.availabilityRepository = availabilityRepository;
+        this.interviewerRepository = interviewerRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Free slots of the given length per interviewer and day, ordered by date then interviewer
+     */
+    public List<Map<String, Object>> getAvailableSlots(LocalDate startDate, LocalDate endDate, int durationMinutes) {
+        if (durationMinutes < DayBitset.TICK_MINUTES || durationMinutes > 8 * 60
+                || durationMinutes % DayBitset.TICK_MINUTES != 0) {
+            throw new IllegalArgumentException("Slot duration must be a multiple of 5 minutes between 5 and 480");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        loadMissing(startDate, endDate);
+        refreshDirty(startDate, endDate);
+
+        int durationTicks = durationMinutes / DayBitset.TICK_MINUTES;
+        String duration = String.valueOf(durationMinutes);
+        List<Map<String, Object>> results = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            DateGrid grid = dates.get(date);
+            if (grid == null) {
+                continue;
+            }
+            for (InterviewerDay day : grid.interviewers().values()) {
+                List<SlotView> slots = day.slots(durationTicks, duration);
+                if (slots.isEmpty()) {
+                    continue;
+                }
+
+                Map<String, Object> slotInfo = new HashMap<>();
+                slotInfo.put("interviewerId", day.interviewerId());
+                slotInfo.put("userId", day.userId());
+                slotInfo.put("interviewerName", day.name());
+                slotInfo.put("interviewerEmail", day.email());
+                slotInfo.put("interviewerRole", day.role());
+                slotInfo.put("date", date.toString());
+                slotInfo.put("totalSlots", slots.size());
+                slotInfo.put("slots", slots);
+                slotInfo.put("notes", day.notes());
+                slotInfo.put("timeRange", day.timeRange());
+                results.add(slotInfo);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Mark an interviewer-day as changed; its slots are rebuilt once the caller's transaction commits
+     */
+    public void markChanged(Long interviewerId, LocalDate date) {
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(interviewerId, date));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (dates.containsKey(event.getDate()) || loading.containsKey(event.getDate())) {
+            dirty.put(new DayKey(event.getInterviewerId(), event.getDate()), changeSequence.incrementAndGet());
+        }
+    }
+
+    @Scheduled(cron = "0 10 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        dates.keySet().removeIf(date -> date.isBefore(today));
+        dirty.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private void refreshDirty(LocalDate startDate, LocalDate endDate) {
+        for (Map.Entry<DayKey, Long> mark : dirty.entrySet()) {
+            DayKey key = mark.getKey();
+            if (key.date().isBefore(startDate) || key.date().isAfter(endDate)) {
+                continue;
+            }
+            // A load still running could overwrite the refreshed day with what it read earlier -
+            // leave the mark for the next request
+            if (!dates.containsKey(key.date()) || loading.containsKey(key.date()) || !dirty.remove(key, mark.getValue())) {
+                continue;
+            }
+            List<InterviewerAvailability> blocks = availabilityRepository
+                    .findByInterviewerIdAndAvailableDateAndIsActive(key.interviewerId(), key.date(), true)
+                    .stream()
+                    .filter(block -> !Boolean.TRUE.equals(block.getIsBooked()))
+                    .sorted(Comparator.comparing(InterviewerAvailability::getStartTime))
+                    .toList();
+
+            DateGrid current = dates.get(key.date());
+            if (current == null) {
+                continue;
+            }
+            InterviewerDay previous = current.interviewers().get(key.interviewerId());
+            InterviewerDay day = blocks.isEmpty() ? null
+                    : previous != null ? previous.withBlocks(blocks)
+                    : buildDay(key.interviewerId(), blocks, null, null);
+
+            dates.computeIfPresent(key.date(), (date, grid) -> {
+                Map<Long, InterviewerDay> interviewers = new TreeMap<>(grid.interviewers());
+                interviewers.remove(key.interviewerId());
+                if (day != null) {
+                    interviewers.put(key.interviewerId(), day);
+                }
+                return new DateGrid(grid.loadedAt(), interviewers);
+            });
+        }
+    }
+
+    private void loadMissing(LocalDate startDate, LocalDate endDate) {
+        long now = System.currentTimeMillis();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            DateGrid grid = dates.get(date);
+            if (grid == null || now - grid.loadedAt() > ttlMillis) {
+                if (from == null) {
+                    from = date;
+                }
+                to = date;
+            }
+        }
+        if (from == null) {
+            return;
+        }
+
+        LocalDate loadFrom = from;
+        LocalDate loadTo = to;
+        for (LocalDate date = loadFrom; !date.isAfter(loadTo); date = date.plusDays(1)) {
+            loading.merge(date, 1, Integer::sum);
+        }
+        try {
+            // Marks present before the query are covered by it; later ones must survive the load
+            Map<DayKey, Long> covered = new HashMap<>();
+            dirty.forEach((key, sequence) -> {
+                if (!key.date().isBefore(loadFrom) && !key.date().isAfter(loadTo)) {
+                    covered.put(key, sequence);
+                }
+            });
+            load(loadFrom, loadTo, now);
+            covered.forEach(dirty::remove);
+        } finally {
+            for (LocalDate date = loadFrom; !date.isAfter(loadTo); date = date.plusDays(1)) {
+                loading.computeIfPresent(date, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    private void load(LocalDate from, LocalDate to, long now) {
+        List<InterviewerAvailability> blocks = availabilityRepository.findAvailableSlots(from, to);
+
+        Set<Long> interviewerIds = blocks.stream().map(InterviewerAvailability::getInterviewerId).collect(Collectors.toSet());
+        Map<Long, Interviewer> interviewers = interviewerRepository.findAllById(interviewerIds).stream()
+                .collect(Collectors.toMap(Interviewer::getInterviewerId, Function.identity()));
+        Set<Long> userIds = interviewers.values().stream()
+                .map(Interviewer::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        // Blocks arrive ordered by date and start time
+        Map<LocalDate, Map<Long, List<InterviewerAvailability>>> byDate = blocks.stream()
+                .collect(Collectors.groupingBy(InterviewerAvailability::getAvailableDate,
+                        Collectors.groupingBy(InterviewerAvailability::getInterviewerId, Collectors.toList())));
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<Long, InterviewerDay> days = new TreeMap<>();
+            byDate.getOrDefault(date, Map.of()).forEach((interviewerId, dayBlocks) -> {
+                Interviewer interviewer = interviewers.get(interviewerId);
+                User user = interviewer != null ? users.get(interviewer.getUserId()) : null;
+                InterviewerDay day = buildDay(interviewerId, dayBlocks, interviewer, user);
+                if (day != null) {
+                    days.put(interviewerId, day);
+                }
+            });
+            dates.put(date, new DateGrid(now, days));
+        }
+    }
+
+    private InterviewerDay buildDay(Long interviewerId, List<InterviewerAvailability> blocks,
+                                    Interviewer interviewer, User user) {
+        if (interviewer == null) {
+            interviewer = interviewerRepository.findById(interviewerId).orElse(null);
+        }
+        if (interviewer != null && user == null) {
+            user = userRepository.findById(interviewer.getUserId()).orElse(null);
+        }
+        if (interviewer == null || user == null) {
+            return null;
+        }
+        return new InterviewerDay(interviewerId, interviewer.getUserId(), user.getFullName(), user.getEmail(),
+                user.getRole().toString(), List.of()).withBlocks(blocks);
+    }
+
+    private record DayKey(Long interviewerId, LocalDate date) {
+    }
+
+    private record DateGrid(long loadedAt, Map<Long, InterviewerDay> interviewers) {
+    }
+
+    /**
+     * Serialized as-is in the response; same fields as the former per-slot maps
+     */
+    public record SlotView(String availabilityId, String startTime, String endTime, String duration) {
+    }
+
+    private record InterviewerDay(Long interviewerId, Long userId, String name, String email, String role,
+                                  List<BlockSlots> blocks) {
+
+        InterviewerDay withBlocks(List<InterviewerAvailability> availability) {
+            return new InterviewerDay(interviewerId, userId, name, email, role,
+                    availability.stream().map(BlockSlots::of).toList());
+        }
+
+        String notes() {
+            return blocks.isEmpty() ? null : blocks.get(0).notes();
+        }
+
+        String timeRange() {
+            LocalTime earliest = blocks.stream().map(BlockSlots::start).min(LocalTime::compareTo).orElse(null);
+            LocalTime latest = blocks.stream().map(BlockSlots::end).max(LocalTime::compareTo).orElse(null);
+            return earliest + " - " + latest;
+        }
+
+        List<SlotView> slots(int durationTicks, String duration) {
+            List<SlotView> slots = new ArrayList<>();
+            for (BlockSlots block : blocks) {
+                block.addSlots(durationTicks, duration, slots);
+            }
+            return slots;
+        }
+    }
+
+    /**
+     * One free block: its slot start ticks for the common durations, keyed by duration in ticks. Blocks whose times are not
+     * on a 5-minute boundary can't be expressed in ticks and are split from their times instead.
+     */
+    private record BlockSlots(String id, LocalTime start, LocalTime end, String notes,
+                              Map<Integer, DayBitset> startsByTicks) {
+
+        static BlockSlots of(InterviewerAvailability block) {
+            Map<Integer, DayBitset> starts = new HashMap<>();
+            if (DayBitset.isAligned(block.getStartTime()) && DayBitset.isAligned(block.getEndTime())) {
+                for (int minutes : COMMON_DURATIONS) {
+                    int ticks = minutes / DayBitset.TICK_MINUTES;
+                    starts.put(ticks, slotStarts(DayBitset.tickOf(block.getStartTime()),
+                            DayBitset.endTickOf(block.getEndTime()), ticks));
+                }
+            }
+            return new BlockSlots(block.getAvailabilityId().toString(),
+                    block.getStartTime(), block.getEndTime(), block.getNotes(), starts);
+        }
+
+        static DayBitset slotStarts(int startTick, int endTick, int durationTicks) {
+            DayBitset starts = new DayBitset();
+            for (int tick = startTick; tick + durationTicks <= endTick; tick += durationTicks) {
+                starts.set(tick);
+            }
+            return starts;
+        }
+
+        boolean aligned() {
+            return DayBitset.isAligned(start) && DayBitset.isAligned(end);
+        }
+
+        void addSlots(int durationTicks, String duration, List<SlotView> out) {
+            if (!aligned()) {
+                // Consecutive slots from the block start, as the frontend has always shown them
+                long minutes = (long) durationTicks * DayBitset.TICK_MINUTES;
+                long endMinute = end.toSecondOfDay() / 60;
+                for (LocalTime slotStart = start; slotStart.toSecondOfDay() / 60 + minutes <= endMinute;
+                     slotStart = slotStart.plusMinutes(minutes)) {
+                    out.add(new SlotView(id, slotStart.toString(), slotStart.plusMinutes(minutes).toString(), duration));
+                }
+                return;
+            }
+
+            DayBitset starts = startsByTicks.get(durationTicks);
+            if (starts == null) {
+                starts = slotStarts(DayBitset.tickOf(start), DayBitset.endTickOf(end), durationTicks);
+            }
+            for (int tick = starts.nextSetBit(0); tick >= 0; tick = starts.nextSetBit(tick + 1)) {
+                out.add(new SlotView(id, DayBitset.timeOf(tick).toString(),
+                        DayBitset.timeOf(tick + durationTicks).toString(), duration));
+            }
+        }
+    }
+}
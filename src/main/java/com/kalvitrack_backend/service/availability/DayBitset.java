@@ -0,0 +1,243 @@
+package com.kalvitrack_backend.service.availability;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One day as 288 five-minute ticks packed into 5 longs; bit i covers [i*5, i*5+5) minutes.
+ * Set operations work a word at a time, so combining or searching a whole day is a handful of
+ * long operations. Times that are not on a 5-minute boundary cannot be represented; use
+ * isAligned first.
+ */
+public final class DayBitset {
+
+    public static final int TICK_MINUTES = 5;
+    public static final int TICKS_PER_DAY = 24 * 60 / TICK_MINUTES;
+    private static final int WORDS = (TICKS_PER_DAY + 63) / 64;
+
+    private final long[] words = new long[WORDS];
+
+    /**
+     * Ticks covering [start, end); end at midnight means the end of the day
+     */
+    public static DayBitset of(LocalTime start, LocalTime end) {
+        DayBitset bitset = new DayBitset();
+        bitset.set(tickOf(start), endTickOf(end));
+        return bitset;
+    }
+
+    public static boolean isAligned(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % TICK_MINUTES == 0;
+    }
+
+    public static int tickOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / TICK_MINUTES;
+    }
+
+    /**
+     * Tick index of an end time; midnight as an end means the end of the day
+     */
+    public static int endTickOf(LocalTime time) {
+        int tick = tickOf(time);
+        return tick == 0 ? TICKS_PER_DAY : tick;
+    }
+
+    public static LocalTime timeOf(int tick) {
+        return tick >= TICKS_PER_DAY ? LocalTime.MIDNIGHT : LocalTime.of(0, 0).plusMinutes((long) tick * TICK_MINUTES);
+    }
+
+    /**
+     * Set ticks [fromTick, toTick)
+     */
+    public void set(int fromTick, int toTick) {
+        for (int tick = fromTick; tick < toTick; ) {
+            int word = tick >>> 6;
+            int bit = tick & 63;
+            int span = Math.min(64 - bit, toTick - tick);
+            long mask = span == 64 ? -1L : ((1L << span) - 1) << bit;
+            words[word] |= mask;
+            tick += span;
+        }
+    }
+
+    public void set(int tick) {
+        words[tick >>> 6] |= 1L << (tick & 63);
+    }
+
+    public boolean get(int tick) {
+        return (words[tick >>> 6] & (1L << (tick & 63))) != 0;
+    }
+
+    /**
+     * Index of the first set tick at or after fromTick, or -1
+     */
+    public int nextSetBit(int fromTick) {
+        if (fromTick >= TICKS_PER_DAY) {
+            return -1;
+        }
+        int word = fromTick >>> 6;
+        long bits = words[word] & (-1L << (fromTick & 63));
+        while (true) {
+            if (bits != 0) {
+                int tick = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return tick < TICKS_PER_DAY ? tick : -1;
+            }
+            if (++word == WORDS) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Index of the first clear tick at or after fromTick, or TICKS_PER_DAY
+     */
+    public int nextClearBit(int fromTick) {
+        if (fromTick >= TICKS_PER_DAY) {
+            return TICKS_PER_DAY;
+        }
+        int word = fromTick >>> 6;
+        long bits = ~words[word] & (-1L << (fromTick & 63));
+        while (true) {
+            if (bits != 0) {
+                return Math.min((word << 6) + Long.numberOfTrailingZeros(bits), TICKS_PER_DAY);
+            }
+            if (++word == WORDS) {
+                return TICKS_PER_DAY;
+            }
+            bits = ~words[word];
+        }
+    }
+
+    public DayBitset copy() {
+        DayBitset copy = new DayBitset();
+        System.arraycopy(words, 0, copy.words, 0, WORDS);
+        return copy;
+    }
+
+    /**
+     * this |= other
+     */
+    public DayBitset or(DayBitset other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * this &= other
+     */
+    public DayBitset and(DayBitset other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * this &= ~other
+     */
+    public DayBitset andNot(DayBitset other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= ~other.words[i];
+        }
+        return this;
+    }
+
+    public boolean intersects(DayBitset other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if every tick of other is set here
+     */
+    public boolean contains(DayBitset other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * First tick starting a run of at least lengthTicks set ticks, or -1.
+     * Folds the bitset onto itself with shifted ANDs (bit i survives only if i..i+len-1 are all set),
+     * doubling the covered length each pass.
+     */
+    public int firstFit(int lengthTicks) {
+        if (lengthTicks <= 0 || lengthTicks > TICKS_PER_DAY) {
+            return -1;
+        }
+        DayBitset fit = copy();
+        int covered = 1;
+        while (covered < lengthTicks) {
+            int shift = Math.min(covered, lengthTicks - covered);
+            fit.and(shiftedDown(fit, shift));
+            covered += shift;
+        }
+        return fit.nextSetBit(0);
+    }
+
+    /**
+     * Maximal runs of set ticks as [fromTick, toTick) pairs, in order
+     */
+    public List<int[]> runs() {
+        List<int[]> runs = new ArrayList<>();
+        int from = nextSetBit(0);
+        while (from >= 0) {
+            int to = nextClearBit(from);
+            runs.add(new int[]{from, to});
+            from = nextSetBit(to);
+        }
+        return runs;
+    }
+
+    // Copy of bitset with bit i taken from bit i + shift
+    private static DayBitset shiftedDown(DayBitset bitset, int shift) {
+        DayBitset shifted = new DayBitset();
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int i = 0; i + wordShift < WORDS; i++) {
+            long low = bitset.words[i + wordShift] >>> bitShift;
+            long high = bitShift == 0 || i + wordShift + 1 >= WORDS ? 0 : bitset.words[i + wordShift + 1] << (64 - bitShift);
+            shifted.words[i] = low | high;
+        }
+        return shifted;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DayBitset bitset && Arrays.equals(words, bitset.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -1,15 +1,23 @@
 package com.kalvitrack_backend.service.availability;
 
 import com.kalvitrack_backend.dto.availability.InterviewerAvailabilityDTO;
+import com.kalvitrack_backend.entity.InterviewSession;
 import com.kalvitrack_backend.entity.Interviewer;
 import com.kalvitrack_backend.entity.InterviewerAvailability;
 import com.kalvitrack_backend.entity.User;
 import com.kalvitrack_backend.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Time;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 
@@ -17,6 +25,14 @@ import java.util.*;
 @Transactional
 public class InterviewerAvailabilityService {
 
+    // Versioned like the @Version column; a row booked or edited meanwhile matches nothing
+    private static final String UPDATE_AVAILABILITY_SQL =
+            "UPDATE interviewer_availability SET start_time = ?, end_time = ?, slot_duration_minutes = ?, notes = ?, " +
+                    "updated_at = ?, version = version + 1 WHERE availability_id = ? AND version = ? AND is_booked = false";
+
+    private static final String DELETE_AVAILABILITY_SQL =
+            "DELETE FROM interviewer_availability WHERE availability_id = ? AND version = ? AND is_booked = false";
+
     @Autowired
     private InterviewerAvailabilityRepository availabilityRepository;
 
@@ -26,9 +42,25 @@ public class InterviewerAvailabilityService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private InterviewSessionRepository interviewSessionRepository;
+
+    @Autowired
+    private AvailableSlotGrid slotGrid;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Submit interviewer availability - stores ORIGINAL blocks only
-     * Splitting happens on-demand when HR selects duration
+     * Splitting happens on-demand when HR selects duration.
+     * The submission replaces the free blocks of each submitted date: it is diffed against what is
+     * stored and applied as JDBC batches of inserts, updates and deletes, so the cost doesn't
+     * grow with round-trips per date. Identical blocks and booked blocks are left untouched, and time
+     * already taken by a scheduled interview is cut out of the submitted blocks.
      */
     public List<InterviewerAvailability> submitAvailability(Long userId, InterviewerAvailabilityDTO availabilityDTO) {
         System.out.println("=== PROCESSING AVAILABILITY SUBMISSION ===");
@@ -65,68 +97,242 @@ public class InterviewerAvailabilityService {
             throw new IllegalArgumentException("Interviewer account is inactive");
         }
 
-        List<InterviewerAvailability> savedAvailabilities = new ArrayList<>();
+        int slotDuration = availabilityDTO.getSlotDurationMinutes() != null
+                ? availabilityDTO.getSlotDurationMinutes()
+                : 60;
+        Long interviewerId = interviewer.getInterviewerId();
+        Map<LocalDate, List<InterviewerAvailability>> requested = parseRequestedBlocks(interviewerId, availabilityDTO, slotDuration);
+
+        // Everything already stored for these dates and every session that blocks them - two queries in total
+        List<InterviewerAvailability> existing = availabilityRepository.findByInterviewerIdAndAvailableDateIn(interviewerId, requested.keySet());
+        // Written back with JDBC below; keep Hibernate from flushing its own copies
+        existing.forEach(entityManager::detach);
+
+        Map<LocalDate, List<InterviewerAvailability>> freeByDate = new HashMap<>();
+        for (InterviewerAvailability row : existing) {
+            // Booked rows back a scheduled interview and are never touched by a resubmission
+            if (Boolean.TRUE.equals(row.getIsActive()) && !Boolean.TRUE.equals(row.getIsBooked())) {
+                freeByDate.computeIfAbsent(row.getAvailableDate(), date -> new ArrayList<>()).add(row);
+            }
+        }
+        Map<LocalDate, List<InterviewSession>> sessionsByDate = new HashMap<>();
+        for (InterviewSession session : interviewSessionRepository.findBookedSessionsForDays(interviewerId, requested.keySet())) {
+            sessionsByDate.computeIfAbsent(session.getInterviewDate(), date -> new ArrayList<>()).add(session);
+        }
 
-        // Process each date and its time blocks
-        for (Map.Entry<String, List<InterviewerAvailabilityDTO.TimeSlot>> entry :
-                availabilityDTO.getTimeSlots().entrySet()) {
+        AvailabilityDiff diff = new AvailabilityDiff();
+        requested.forEach((date, blocks) -> diff.compare(
+                withoutBookedTime(blocks, sessionsByDate.getOrDefault(date, List.of())),
+                freeByDate.getOrDefault(date, List.of())));
+
+        insertBlocks(diff.inserts);
+        updateBlocks(diff.updates);
+        deleteBlocks(diff.deletes);
+        diff.changedDates().forEach(date -> slotGrid.markChanged(interviewerId, date));
+
+        System.out.println("=== AVAILABILITY SAVED for " + requested.size() + " dates: " + diff.inserts.size() + " inserted, "
+                + diff.updates.size() + " updated, " + diff.deletes.size() + " deleted, " + diff.unchanged.size() + " unchanged ===");
+
+        List<InterviewerAvailability> savedAvailabilities = new ArrayList<>(diff.unchanged);
+        savedAvailabilities.addAll(diff.updates);
+        savedAvailabilities.addAll(diff.inserts);
+        savedAvailabilities.sort(Comparator.comparing(InterviewerAvailability::getAvailableDate)
+                .thenComparing(InterviewerAvailability::getStartTime));
+        return savedAvailabilities;
+    }
 
-            String dateStr = entry.getKey();
-            LocalDate date = LocalDate.parse(dateStr);
-            List<InterviewerAvailabilityDTO.TimeSlot> timeSlots = entry.getValue();
+    /**
+     * Validate the submission and turn it into unsaved blocks per date
+     */
+    private Map<LocalDate, List<InterviewerAvailability>> parseRequestedBlocks(Long interviewerId,
+                                                                              InterviewerAvailabilityDTO availabilityDTO,
+                                                                              int slotDuration) {
+        Map<LocalDate, List<InterviewerAvailability>> requested = new TreeMap<>();
 
-            System.out.println("Processing date: " + date + " with " + timeSlots.size() + " time blocks");
+        for (Map.Entry<String, List<InterviewerAvailabilityDTO.TimeSlot>> entry :
+                availabilityDTO.getTimeSlots().entrySet()) {
 
-            // Validate date
+            LocalDate date = LocalDate.parse(entry.getKey());
             if (date.isBefore(LocalDate.now())) {
                 throw new IllegalArgumentException("Cannot set availability for past dates: " + date);
             }
 
-            // Clear existing availability for this date
-            System.out.println("Clearing existing availability for date: " + date);
-            availabilityRepository.deleteByInterviewerIdAndAvailableDate(
-                    interviewer.getInterviewerId(), date);
-
-            // Create availability records - ONE per time block (NOT split)
-            for (InterviewerAvailabilityDTO.TimeSlot timeSlot : timeSlots) {
+            List<InterviewerAvailability> blocks = new ArrayList<>();
+            for (InterviewerAvailabilityDTO.TimeSlot timeSlot : entry.getValue()) {
                 LocalTime startTime = LocalTime.parse(timeSlot.getStartTime());
                 LocalTime endTime = LocalTime.parse(timeSlot.getEndTime());
 
-                System.out.println("Creating block: " + startTime + " - " + endTime);
-
-                // Validate time slot
                 if (!startTime.isBefore(endTime)) {
                     throw new IllegalArgumentException(
                             String.format("Invalid time slot for %s: start time (%s) must be before end time (%s)",
                                     date, startTime, endTime));
                 }
 
-                // Store DEFAULT duration (can be changed by HR later)
-                int slotDuration = availabilityDTO.getSlotDurationMinutes() != null
-                        ? availabilityDTO.getSlotDurationMinutes()
-                        : 60;
-
-                // Create ONE availability record for the entire block
-                InterviewerAvailability availability = new InterviewerAvailability();
-                availability.setInterviewerId(interviewer.getInterviewerId());
-                availability.setAvailableDate(date);
-                availability.setStartTime(startTime);
-                availability.setEndTime(endTime);
-                availability.setIsBooked(false);
-                availability.setSlotDurationMinutes(slotDuration); // Default, HR can override
-                availability.setMaxConcurrentInterviews(1);
-                availability.setIsActive(true);
-                availability.setNotes(timeSlot.getNotes());
-
-                InterviewerAvailability saved = availabilityRepository.save(availability);
-                savedAvailabilities.add(saved);
-
-                System.out.println("✅ Saved availability block ID: " + saved.getAvailabilityId());
+                // ONE record per block (NOT split); slot duration is a default HR can override
+                InterviewerAvailability block = new InterviewerAvailability(interviewerId, date, startTime, endTime);
+                block.setIsBooked(false);
+                block.setSlotDurationMinutes(slotDuration);
+                block.setMaxConcurrentInterviews(1);
+                block.setIsActive(true);
+                block.setNotes(timeSlot.getNotes());
+                blocks.add(block);
             }
+            requested.put(date, blocks);
         }
+        return requested;
+    }
 
-        System.out.println("=== TOTAL BLOCKS SAVED: " + savedAvailabilities.size() + " ===");
-        return savedAvailabilities;
+    /**
+     * Cut time already taken by a scheduled interview out of the requested blocks
+     */
+    private List<InterviewerAvailability> withoutBookedTime(List<InterviewerAvailability> blocks, List<InterviewSession> sessions) {
+        if (sessions.isEmpty()) {
+            return blocks;
+        }
+        List<InterviewerAvailability> pieces = new ArrayList<>();
+        for (InterviewerAvailability block : blocks) {
+            LocalTime pieceStart = block.getStartTime();
+            for (InterviewSession session : sessions) { // ordered by start time
+                if (!session.getEndTime().isAfter(pieceStart) || !session.getStartTime().isBefore(block.getEndTime())) {
+                    continue;
+                }
+                if (pieceStart.isBefore(session.getStartTime())) {
+                    pieces.add(piece(block, pieceStart, session.getStartTime()));
+                }
+                pieceStart = session.getEndTime();
+            }
+            if (pieceStart.isBefore(block.getEndTime())) {
+                pieces.add(pieceStart.equals(block.getStartTime()) ? block : piece(block, pieceStart, block.getEndTime()));
+            }
+        }
+        return pieces;
+    }
+
+    private InterviewerAvailability piece(InterviewerAvailability block, LocalTime start, LocalTime end) {
+        InterviewerAvailability piece = new InterviewerAvailability(block.getInterviewerId(), block.getAvailableDate(), start, end);
+        piece.setIsBooked(false);
+        piece.setSlotDurationMinutes(block.getSlotDurationMinutes());
+        piece.setMaxConcurrentInterviews(block.getMaxConcurrentInterviews());
+        piece.setIsActive(true);
+        piece.setNotes(block.getNotes());
+        return piece;
+    }
+
+    private void insertBlocks(List<InterviewerAvailability> blocks) {
+        // Ids come from the pooled generator, so Hibernate sends these as JDBC batches
+        availabilityRepository.saveAll(blocks);
+    }
+
+    private void updateBlocks(List<InterviewerAvailability> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_AVAILABILITY_SQL, blocks, blocks.size(), (ps, block) -> {
+            ps.setTime(1, Time.valueOf(block.getStartTime()));
+            ps.setTime(2, Time.valueOf(block.getEndTime()));
+            ps.setInt(3, block.getSlotDurationMinutes());
+            ps.setString(4, block.getNotes());
+            ps.setTimestamp(5, Timestamp.valueOf(now));
+            ps.setLong(6, block.getAvailabilityId());
+            ps.setLong(7, block.getVersion());
+        });
+        checkNoneLost(counts, blocks);
+        blocks.forEach(block -> {
+            block.setVersion(block.getVersion() + 1);
+            block.setUpdatedAt(now);
+        });
+    }
+
+    private void deleteBlocks(List<InterviewerAvailability> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_AVAILABILITY_SQL, blocks, blocks.size(), (ps, block) -> {
+            ps.setLong(1, block.getAvailabilityId());
+            ps.setLong(2, block.getVersion());
+        });
+        checkNoneLost(counts, blocks);
+    }
+
+    /**
+     * A versioned write that matched no row means the block was booked or edited concurrently
+     */
+    private void checkNoneLost(int[][] counts, List<InterviewerAvailability> blocks) {
+        for (int[] batch : counts) {
+            for (int i = 0; i < batch.length; i++) {
+                if (batch[i] == 0) {
+                    throw new OptimisticLockingFailureException("Availability block " + blocks.get(i).getAvailabilityId()
+                            + " was changed while saving");
+                }
+            }
+        }
+    }
+
+    /**
+     * Submitted blocks vs. the free blocks already stored, per date. Identical blocks stay as they
+     * are, blocks whose times changed reuse an old row where one is left, and only the remainder
+     * becomes inserts or deletes.
+     */
+    static final class AvailabilityDiff {
+        final List<InterviewerAvailability> inserts = new ArrayList<>();
+        final List<InterviewerAvailability> updates = new ArrayList<>();
+        final List<InterviewerAvailability> deletes = new ArrayList<>();
+        final List<InterviewerAvailability> unchanged = new ArrayList<>();
+
+        void compare(List<InterviewerAvailability> wanted, List<InterviewerAvailability> stored) {
+            List<InterviewerAvailability> spare = new ArrayList<>(stored);
+            List<InterviewerAvailability> unmatched = new ArrayList<>();
+
+            for (InterviewerAvailability block : wanted) {
+                InterviewerAvailability same = spare.stream()
+                        .filter(row -> row.getStartTime().equals(block.getStartTime()) && row.getEndTime().equals(block.getEndTime()))
+                        .findFirst().orElse(null);
+                if (same == null) {
+                    unmatched.add(block);
+                    continue;
+                }
+                spare.remove(same);
+                if (Objects.equals(same.getNotes(), block.getNotes())
+                        && Objects.equals(same.getSlotDurationMinutes(), block.getSlotDurationMinutes())) {
+                    unchanged.add(same);
+                } else {
+                    copyDetails(block, same);
+                    updates.add(same);
+                }
+            }
+
+            for (InterviewerAvailability block : unmatched) {
+                InterviewerAvailability reuse = spare.stream()
+                        .filter(row -> row.getStartTime().isBefore(block.getEndTime()) && row.getEndTime().isAfter(block.getStartTime()))
+                        .findFirst()
+                        .orElse(spare.isEmpty() ? null : spare.get(0));
+                if (reuse == null) {
+                    inserts.add(block);
+                    continue;
+                }
+                spare.remove(reuse);
+                reuse.setStartTime(block.getStartTime());
+                reuse.setEndTime(block.getEndTime());
+                copyDetails(block, reuse);
+                updates.add(reuse);
+            }
+
+            deletes.addAll(spare);
+        }
+
+        Set<LocalDate> changedDates() {
+            Set<LocalDate> dates = new HashSet<>();
+            inserts.forEach(block -> dates.add(block.getAvailableDate()));
+            updates.forEach(block -> dates.add(block.getAvailableDate()));
+            deletes.forEach(block -> dates.add(block.getAvailableDate()));
+            return dates;
+        }
+
+        private static void copyDetails(InterviewerAvailability from, InterviewerAvailability to) {
+            to.setNotes(from.getNotes());
+            to.setSlotDurationMinutes(from.getSlotDurationMinutes());
+        }
     }
 
     /**
@@ -208,6 +414,7 @@ public class InterviewerAvailabilityService {
         availability.setStartTime(startTime);
         availability.setEndTime(endTime);
         availability.setNotes(timeSlot.getNotes());
+        slotGrid.markChanged(availability.getInterviewerId(), availability.getAvailableDate());
 
         return availabilityRepository.save(availability);
     }
@@ -228,5 +435,6 @@ public class InterviewerAvailabilityService {
         }
 
         availabilityRepository.delete(availability);
+        slotGrid.markChanged(availability.getInterviewerId(), availability.getAvailableDate());
     }
 }
\ No newline at end of file
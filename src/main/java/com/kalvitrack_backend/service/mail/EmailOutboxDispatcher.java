@@ -0,0 +1,199 @@
+package com.kalvitrack_backend.service.mail;
+
+import com.kalvitrack_backend.entity.EmailOutbox;
+import com.kalvitrack_backend.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the email_outbox table. Each worker claims a batch of due rows with
+ * SELECT ... FOR UPDATE SKIP LOCKED, leases them (status SENDING) in a short transaction,
+ * sends the batch over one SMTP connection outside any transaction, then records SENT
+ * or schedules a retry with exponential backoff. Safe to run on several instances.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore workerSlots;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.mail.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.mail.workers:2}") int workers) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.workerSlots = new Semaphore(Math.max(1, workers));
+    }
+
+    /**
+     * Periodic sweep - picks up retries, expired leases and anything a wake-up missed
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Start a worker if one is free; busy workers keep draining until no rows are due
+     */
+    public void wakeUp() {
+        if (!workerSlots.tryAcquire()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    while (dispatchBatch() > 0) {
+                        // keep draining
+                    }
+                } catch (Exception e) {
+                    logger.error("❌ Email outbox dispatch failed: {}", e.getMessage());
+                } finally {
+                    workerSlots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            workerSlots.release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Claim, send and settle one batch. Returns the number of rows claimed.
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<EmailOutbox> rows = outboxRepository.lockDueBatch(now, batchSize);
+            if (!rows.isEmpty()) {
+                outboxRepository.claim(rows.stream().map(EmailOutbox::getOutboxId).toList(),
+                        now.plusSeconds(leaseSeconds));
+            }
+            return rows;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        Map<EmailOutbox, String> failures = new HashMap<>();
+        for (EmailOutbox row : claimed) {
+            try {
+                byMessage.put(toMimeMessage(row), row);
+            } catch (MessagingException e) {
+                failures.put(row, e.getMessage());
+            }
+        }
+
+        if (!byMessage.isEmpty()) {
+            try {
+                // One SMTP connection for the whole batch
+                mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailOutbox row = byMessage.get(message);
+                    if (row != null) {
+                        failures.put(row, cause.getMessage());
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(row -> failures.put(row, e.getMessage()));
+                }
+            } catch (Exception e) {
+                byMessage.values().forEach(row -> failures.put(row, e.getMessage()));
+            }
+        }
+
+        List<Long> sentIds = claimed.stream()
+                .filter(row -> !failures.containsKey(row))
+                .map(EmailOutbox::getOutboxId)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, LocalDateTime.now());
+            }
+            failures.forEach(this::recordFailure);
+        });
+
+        logger.info("📧 Email outbox batch: {} sent, {} failed", sentIds.size(), failures.size());
+        return claimed.size();
+    }
+
+    private void recordFailure(EmailOutbox row, String error) {
+        // attempts on the loaded row is the value before this claim
+        int attempts = row.getAttempts() + 1;
+        String lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+
+        if (attempts >= maxAttempts) {
+            outboxRepository.markFailed(row.getOutboxId(), EmailOutbox.Status.FAILED, LocalDateTime.now(), lastError);
+            logger.error("❌ Giving up on email {} to {} after {} attempts: {}",
+                    row.getOutboxId(), row.getRecipient(), attempts, lastError);
+            return;
+        }
+
+        long delaySeconds = backoffBaseSeconds << Math.min(attempts - 1, 10);
+        outboxRepository.markFailed(row.getOutboxId(), EmailOutbox.Status.PENDING,
+                LocalDateTime.now().plusSeconds(delaySeconds), lastError);
+        logger.warn("⚠️ Email {} to {} failed (attempt {}), retrying in {}s: {}",
+                row.getOutboxId(), row.getRecipient(), attempts, delaySeconds, lastError);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox row) throws MessagingException {
+        boolean html = Boolean.TRUE.equals(row.getIsHtml());
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, html, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(row.getRecipient());
+        helper.setSubject(row.getSubject());
+        helper.setText(row.getBody(), html);
+        return message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.kalvitrack_backend.service.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A fully rendered email waiting to be sent by OutboundMailService
+ */
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "body")
+public class OutboundMail {
+
+    private final String to;
+    private final String subject;
+    private final String body;
+    private final boolean html;
+
+    public static OutboundMail text(String to, String subject, String body) {
+        return new OutboundMail(to, subject, body, false);
+    }
+
+    public static OutboundMail html(String to, String subject, String body) {
+        return new OutboundMail(to, subject, body, true);
+    }
+}
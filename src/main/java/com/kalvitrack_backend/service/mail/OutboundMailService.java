@@ -0,0 +1,58 @@
+package com.kalvitrack_backend.service.mail;
+
+import com.kalvitrack_backend.entity.EmailOutbox;
+import com.kalvitrack_backend.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Outbound mail entry point. Callers enqueue rendered mails; each one is written to the
+ * email_outbox table in the caller's transaction, so it commits (or rolls back) together
+ * with the interview session / reset token that triggered it and survives a restart.
+ * After commit the dispatcher is woken up to send it, so request latency (and the Hikari
+ * connection held by the transaction) never includes SMTP round-trips.
+ */
+@Service
+public class OutboundMailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundMailService.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailOutboxDispatcher dispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OutboundMailService(EmailOutboxRepository outboxRepository,
+                               EmailOutboxDispatcher dispatcher,
+                               ApplicationEventPublisher eventPublisher) {
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Store a mail in the outbox. Joins the caller's transaction if there is one.
+     */
+    @Transactional
+    public void enqueue(OutboundMail mail) {
+        EmailOutbox row = new EmailOutbox();
+        row.setRecipient(mail.getTo());
+        row.setSubject(mail.getSubject());
+        row.setBody(mail.getBody());
+        row.setIsHtml(mail.isHtml());
+        row.setStatus(EmailOutbox.Status.PENDING);
+        outboxRepository.save(row);
+
+        eventPublisher.publishEvent(mail);
+        logger.debug("Mail {} written to outbox", mail);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMailCommitted(OutboundMail mail) {
+        dispatcher.wakeUp();
+    }
+}
@@ -0,0 +1,125 @@
+package com.kalvitrack_backend.service.resume;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Resumes on the local disk under app.upload.dir, sharded as resumes/{2 hex}/{sha256}.{ext}.
+ * An upload is streamed once: FileChannel.transferFrom writes it to a temp file in the target
+ * filesystem while a DigestInputStream computes its SHA-256 and the size cap is enforced,
+ * then it is moved into place (or dropped if identical content is already stored).
+ */
+@Component
+@ConditionalOnProperty(name = "app.resume.storage", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalResumeStorage implements ResumeStorage {
+
+    // Bytes handed to transferFrom per call
+    private static final long TRANSFER_CHUNK = 64 * 1024;
+
+    private final Path root;
+
+    // Resumes saved before content addressing: uploads/resumes/{uuid}.{ext} relative to the working dir
+    private final Path legacyRoot = Paths.get("uploads/resumes").toAbsolutePath().normalize();
+
+    public LocalResumeStorage(@Value("${app.upload.dir:./uploads}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        log.info("Resume storage: local directory {}", root);
+    }
+
+    @Override
+    public StoredResume store(InputStream content, String contentType) throws IOException {
+        Path resumeDir = root.resolve(ResumeStorageService.RESUME_PREFIX);
+        Files.createDirectories(resumeDir);
+        Path temp = Files.createTempFile(resumeDir, "upload-", ".part");
+
+        try {
+            MessageDigest digest = ResumeStorageService.sha256();
+            long size = 0;
+
+            try (InputStream in = new DigestInputStream(content, digest);
+                 ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+
+                long transferred;
+                // Ask for at most one byte past the cap so oversized uploads stop early
+                while ((transferred = target.transferFrom(source, size,
+                        Math.min(TRANSFER_CHUNK, ResumeStorageService.MAX_RESUME_BYTES + 1 - size))) > 0) {
+                    size += transferred;
+                    if (size > ResumeStorageService.MAX_RESUME_BYTES) {
+                        throw new IllegalArgumentException("Resume file size must be less than 5MB");
+                    }
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String key = ResumeStorageService.keyFor(sha256, contentType);
+            Path destination = root.resolve(key);
+
+            boolean deduplicated = Files.exists(destination);
+            if (!deduplicated) {
+                Files.createDirectories(destination.getParent());
+                try {
+                    Files.move(temp, destination, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same content stored concurrently
+                    deduplicated = true;
+                }
+            }
+
+            log.info("Resume stored as {} ({} bytes{})", key, size, deduplicated ? ", deduplicated" : "");
+            return new StoredResume(key, sha256, size, contentType, deduplicated);
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        Path file = locate(key)
+                .map(ResumeLocation::getFile)
+                .orElseThrow(() -> new NoSuchFileException(key));
+        return Files.newInputStream(file);
+    }
+
+    /**
+     * Keys (or legacy uploads/resumes paths) that escape the storage directories resolve to nothing
+     */
+    @Override
+    public Optional<ResumeLocation> locate(String key) {
+        if (key == null || key.isBlank()) {
+            return Optional.empty();
+        }
+
+        Path stored = root.resolve(key).normalize();
+        if (stored.startsWith(root) && Files.isRegularFile(stored)) {
+            return Optional.of(ResumeLocation.file(stored));
+        }
+
+        Path legacy = Paths.get(key).toAbsolutePath().normalize();
+        if (legacy.startsWith(legacyRoot) && Files.isRegularFile(legacy)) {
+            return Optional.of(ResumeLocation.file(legacy));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,270 @@
+package com.kalvitrack_backend.service.resume;
+
+import com.kalvitrack_backend.entity.Student;
+import com.kalvitrack_backend.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text index of resume contents (Lucene, on local disk under app.search.index-dir),
+ * one document per student keyed by Student.id.
+ * Extraction and indexing run on a single background thread, never on the request path:
+ * a resume saved in completeRegistration is indexed right after commit, and a periodic sync
+ * picks up every student whose resume changed since the watermark stored in the index
+ * (covers other instances, missed events and a fresh empty index).
+ */
+@Service
+@Slf4j
+public class ResumeIndexService {
+
+    private static final String FIELD_ID = "studentId";
+    private static final String FIELD_CONTENT = "content";
+
+    // Lucene commit data: keyset position (updatedAt, studentId) of the last synced student
+    private static final String WATERMARK_UPDATED_AT = "watermarkUpdatedAt";
+    private static final String WATERMARK_STUDENT_ID = "watermarkStudentId";
+
+    private static final int SYNC_PAGE_SIZE = 100;
+
+    public static final int MAX_RESULTS = 100;
+
+    private final ResumeStorageService resumeStorageService;
+    private final ResumeTextExtractor textExtractor;
+    private final StudentRepository studentRepository;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // One writer thread keeps extraction off the request path and index updates ordered
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resume-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+
+    // Only touched on the indexer thread
+    private LocalDateTime watermarkUpdatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private long watermarkStudentId = 0;
+
+    public ResumeIndexService(ResumeStorageService resumeStorageService,
+                              ResumeTextExtractor textExtractor,
+                              StudentRepository studentRepository,
+                              @Value("${app.search.index-dir:./uploads/search-index}") String indexDir) throws IOException {
+        this.resumeStorageService = resumeStorageService;
+        this.textExtractor = textExtractor;
+        this.studentRepository = studentRepository;
+
+        Path path = Paths.get(indexDir).toAbsolutePath().normalize();
+        Files.createDirectories(path);
+        this.directory = FSDirectory.open(path);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (WATERMARK_UPDATED_AT.equals(entry.getKey())) {
+                    watermarkUpdatedAt = LocalDateTime.parse(entry.getValue());
+                } else if (WATERMARK_STUDENT_ID.equals(entry.getKey())) {
+                    watermarkStudentId = Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        log.info("Resume index opened at {} ({} documents, synced up to {})", path, writer.getDocStats().numDocs, watermarkUpdatedAt);
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResumeSaved(ResumeSavedEvent event) {
+        indexer.execute(() -> {
+            try {
+                indexResume(event.getStudentId(), event.getResumeKey());
+                commit();
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to index resume for student {}: {}", event.getStudentId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Catch up with students whose resume changed since the last sync
+     */
+    @Scheduled(fixedDelayString = "${app.search.sync-interval-ms:60000}", initialDelay = 15000)
+    public void scheduleSync() {
+        if (syncQueued.compareAndSet(false, true)) {
+            indexer.execute(() -> {
+                try {
+                    syncFromDatabase();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Resume index sync failed: {}", e.getMessage());
+                } finally {
+                    syncQueued.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Ranked students whose resume matches the query, best first.
+     * Query syntax: words (any may match, more matches rank higher), "quoted phrases",
+     * +required, -excluded, prefix*.
+     */
+    public List<Map<String, Object>> search(String queryText, int limit) throws IOException {
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_RESULTS));
+
+        Query query = new SimpleQueryParser(analyzer, FIELD_CONTENT).parse(queryText);
+        Map<Long, Float> scores = new LinkedHashMap<>();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, size);
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc hit : top.scoreDocs) {
+                Long studentId = Long.valueOf(storedFields.document(hit.doc).get(FIELD_ID));
+                scores.put(studentId, hit.score);
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+
+        Map<Long, Student> students = studentRepository.findAllById(scores.keySet()).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        List<Map<String, Object>> results = new ArrayList<>(scores.size());
+        scores.forEach((studentId, score) -> {
+            Student student = students.get(studentId);
+            if (student == null) {
+                return;
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("studentId", student.getId());
+            result.put("fullName", student.getFullName());
+            result.put("email", student.getEmail());
+            result.put("collegeName", student.getCollegeName());
+            result.put("role", student.getRole());
+            result.put("yearOfGraduation", student.getYearOfGraduation());
+            result.put("score", score);
+            results.add(result);
+        });
+        return results;
+    }
+
+    private void syncFromDatabase() throws IOException {
+        int indexed = 0;
+        while (true) {
+            List<Student> page = studentRepository.findResumesChangedAfter(
+                    watermarkUpdatedAt, watermarkStudentId, PageRequest.of(0, SYNC_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (Student student : page) {
+                try {
+                    indexResume(student.getId(), student.getResumePath());
+                    indexed++;
+                } catch (IOException | RuntimeException e) {
+                    // Skip unreadable files; the watermark still moves on so one bad file can't stall the sync
+                    log.warn("Could not index resume for student {}: {}", student.getId(), e.getMessage());
+                }
+            }
+
+            Student last = page.get(page.size() - 1);
+            watermarkUpdatedAt = last.getUpdatedAt();
+            watermarkStudentId = last.getId();
+            commit();
+
+            if (page.size() < SYNC_PAGE_SIZE) {
+                break;
+            }
+        }
+        if (indexed > 0) {
+            log.info("Resume index sync: {} resumes indexed", indexed);
+        }
+    }
+
+    private void indexResume(Long studentId, String resumeKey) throws IOException {
+        Term idTerm = new Term(FIELD_ID, String.valueOf(studentId));
+        if (resumeKey == null || resumeKey.isBlank()) {
+            writer.deleteDocuments(idTerm);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        String text;
+        try (InputStream in = resumeStorageService.open(resumeKey)) {
+            text = textExtractor.extract(in, resumeKey);
+        }
+
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(studentId), Field.Store.YES));
+        document.add(new TextField(FIELD_CONTENT, text, Field.Store.NO));
+        writer.updateDocument(idTerm, document);
+
+        log.debug("Indexed resume of student {} ({} chars in {} ms)", studentId, text.length(), System.currentTimeMillis() - start);
+    }
+
+    private void commit() throws IOException {
+        writer.setLiveCommitData(Map.of(
+                WATERMARK_UPDATED_AT, watermarkUpdatedAt.toString(),
+                WATERMARK_STUDENT_ID, String.valueOf(watermarkStudentId)
+        ).entrySet());
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+}
@@ -0,0 +1,32 @@
+package com.kalvitrack_backend.service.resume;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * A stored resume is either a local file (served directly) or an object behind a
+ * short-lived URL (the client is redirected to it)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResumeLocation {
+
+    private final Path file;
+    private final URI redirectUri;
+
+    public static ResumeLocation file(Path file) {
+        return new ResumeLocation(file, null);
+    }
+
+    public static ResumeLocation redirect(URI uri) {
+        return new ResumeLocation(null, uri);
+    }
+
+    public boolean isLocalFile() {
+        return file != null;
+    }
+}
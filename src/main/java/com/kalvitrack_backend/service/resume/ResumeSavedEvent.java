@@ -0,0 +1,17 @@
+package com.kalvitrack_backend.service.resume;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a student's resume key is saved; indexed after the transaction commits
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResumeSavedEvent {
+
+    private final Long studentId;
+    private final String resumeKey;
+}
@@ -0,0 +1,29 @@
+package com.kalvitrack_backend.service.resume;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Backend that holds resume files. Selected with app.resume.storage (local | s3).
+ * Implementations store content-addressed (key derived from the SHA-256, see
+ * ResumeStorageService.keyFor), enforce ResumeStorageService.MAX_RESUME_BYTES while streaming,
+ * and deduplicate identical content.
+ */
+public interface ResumeStorage {
+
+    /**
+     * Stream a validated upload into storage. Throws IllegalArgumentException if it exceeds the size cap.
+     */
+    StoredResume store(InputStream content, String contentType) throws IOException;
+
+    /**
+     * Read a stored resume's bytes (background processing such as text extraction)
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Where a stored key can be read from, or empty if it does not exist
+     */
+    Optional<ResumeLocation> locate(String key) throws IOException;
+}
@@ -0,0 +1,100 @@
+package com.kalvitrack_backend.service.resume;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Entry point for resume files. Validates uploads and delegates to the configured
+ * ResumeStorage backend (local disk or S3-compatible object storage).
+ * Storage is content-addressed: resumes/{first two hex chars}/{sha256}.{ext}, so identical
+ * resumes are stored once whichever backend is used.
+ */
+@Service
+public class ResumeStorageService {
+
+    public static final long MAX_RESUME_BYTES = 5 * 1024 * 1024;
+
+    static final String RESUME_PREFIX = "resumes";
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "application/pdf", ".pdf",
+            "application/msword", ".doc",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document", ".docx"
+    );
+
+    // Content-addressed file names: 64 lowercase hex chars + extension
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("^([0-9a-f]{64})\\.[a-z]+$");
+
+    private final ResumeStorage storage;
+
+    public ResumeStorageService(ResumeStorage storage) {
+        this.storage = storage;
+    }
+
+    public static boolean isSupportedContentType(String contentType) {
+        return contentType != null && EXTENSIONS.containsKey(contentType);
+    }
+
+    /**
+     * Store a resume upload. Throws IllegalArgumentException for unsupported types or files over 5MB.
+     */
+    public StoredResume store(MultipartFile file) throws IOException {
+        String contentType = file.getContentType();
+        if (!isSupportedContentType(contentType)) {
+            throw new IllegalArgumentException("Resume must be PDF, DOC, or DOCX format");
+        }
+        // Reject early when the client declared the size; the backend's streaming check is authoritative
+        if (file.getSize() > MAX_RESUME_BYTES) {
+            throw new IllegalArgumentException("Resume file size must be less than 5MB");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            return storage.store(in, contentType);
+        }
+    }
+
+    public InputStream open(String key) throws IOException {
+        return storage.open(key);
+    }
+
+    /**
+     * Where a stored resume key (or legacy path) can be read from
+     */
+    public Optional<ResumeLocation> locate(String key) throws IOException {
+        return storage.locate(key);
+    }
+
+    /**
+     * SHA-256 encoded in a content-addressed file name, or null for legacy files
+     */
+    public static String checksumOf(Path file) {
+        return checksumOf(file.getFileName().toString());
+    }
+
+    public static String checksumOf(String fileName) {
+        Matcher matcher = CONTENT_ADDRESSED.matcher(fileName.substring(fileName.lastIndexOf('/') + 1));
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    static String keyFor(String sha256, String contentType) {
+        return RESUME_PREFIX + "/" + sha256.substring(0, 2) + "/" + sha256 + EXTENSIONS.get(contentType);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
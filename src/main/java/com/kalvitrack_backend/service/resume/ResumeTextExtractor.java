@@ -0,0 +1,101 @@
+package com.kalvitrack_backend.service.resume;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Plain text from resume files: PDF via PDFBox, DOCX by reading word/document.xml with StAX.
+ * Legacy binary .doc files are not extracted (empty text).
+ */
+@Component
+@Slf4j
+public class ResumeTextExtractor {
+
+    // Enough for any real resume; bounds memory for pathological files
+    private static final int MAX_TEXT_CHARS = 200_000;
+
+    private static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public ResumeTextExtractor() {
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        // No DTDs or external entities in untrusted uploads
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    public String extract(InputStream content, String fileName) throws IOException {
+        String name = fileName.toLowerCase();
+        String text;
+        if (name.endsWith(".pdf")) {
+            text = extractPdf(content);
+        } else if (name.endsWith(".docx")) {
+            text = extractDocx(content);
+        } else {
+            log.debug("No text extractor for {}", fileName);
+            text = "";
+        }
+        return text.length() > MAX_TEXT_CHARS ? text.substring(0, MAX_TEXT_CHARS) : text;
+    }
+
+    private String extractPdf(InputStream content) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(content))) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private String extractDocx(InputStream content) throws IOException {
+        ZipInputStream zip = new ZipInputStream(content);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if ("word/document.xml".equals(entry.getName())) {
+                return readWordXml(zip);
+            }
+        }
+        return "";
+    }
+
+    private String readWordXml(InputStream xml) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(xml);
+            boolean inText = false;
+            while (reader.hasNext() && text.length() < MAX_TEXT_CHARS) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORD_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "tab", "br" -> text.append(' ');
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORD_NS.equals(reader.getNamespaceURI())) {
+                    if ("t".equals(reader.getLocalName())) {
+                        inText = false;
+                    } else if ("p".equals(reader.getLocalName())) {
+                        text.append('\n');
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid DOCX content: " + e.getMessage(), e);
+        }
+        return text.toString();
+    }
+}
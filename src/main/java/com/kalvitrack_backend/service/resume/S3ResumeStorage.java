@@ -0,0 +1,220 @@
+package com.kalvitrack_backend.service.resume;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resumes in an S3-compatible bucket (AWS S3, or MinIO and similar via app.resume.s3.endpoint
+ * with path-style access). An upload is streamed as a multipart upload to a temporary key while
+ * its SHA-256 is computed and the size cap enforced, then copied server-side to the
+ * content-addressed key (or discarded if that key already exists). Downloads are served by
+ * redirecting to a short-lived presigned URL, so the bytes never pass through the app.
+ */
+@Component
+@ConditionalOnProperty(name = "app.resume.storage", havingValue = "s3")
+@Slf4j
+public class S3ResumeStorage implements ResumeStorage {
+
+    // S3 minimum size for every part but the last
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    private static final String TEMP_PREFIX = ResumeStorageService.RESUME_PREFIX + "/tmp/";
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Duration urlExpiry;
+
+    public S3ResumeStorage(@Value("${app.resume.s3.bucket}") String bucket,
+                           @Value("${app.resume.s3.region:us-east-1}") String region,
+                           @Value("${app.resume.s3.endpoint:}") String endpoint,
+                           @Value("${app.resume.s3.path-style-access:false}") boolean pathStyleAccess,
+                           @Value("${app.resume.s3.access-key:}") String accessKey,
+                           @Value("${app.resume.s3.secret-key:}") String secretKey,
+                           @Value("${app.resume.s3.url-expiry-minutes:10}") long urlExpiryMinutes) {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.builder().build()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration s3Config = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        var clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Config);
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Config);
+        if (!endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.s3 = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+        this.bucket = bucket;
+        this.urlExpiry = Duration.ofMinutes(urlExpiryMinutes);
+        log.info("Resume storage: S3 bucket {}{}", bucket, endpoint.isBlank() ? "" : " at " + endpoint);
+    }
+
+    @PreDestroy
+    public void close() {
+        presigner.close();
+        s3.close();
+    }
+
+    @Override
+    public StoredResume store(InputStream content, String contentType) throws IOException {
+        String tempKey = TEMP_PREFIX + UUID.randomUUID();
+        String uploadId;
+        try {
+            uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(tempKey).contentType(contentType))
+                    .uploadId();
+        } catch (SdkException e) {
+            throw new IOException("S3 upload failed: " + e.getMessage(), e);
+        }
+
+        MessageDigest digest = ResumeStorageService.sha256();
+        long size = 0;
+        boolean uploaded = false;
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer = new byte[PART_SIZE];
+            InputStream in = new DigestInputStream(content, digest);
+
+            while (true) {
+                int filled = in.readNBytes(buffer, 0, PART_SIZE);
+                if (filled == 0 && !parts.isEmpty()) {
+                    break;
+                }
+                size += filled;
+                if (size > ResumeStorageService.MAX_RESUME_BYTES) {
+                    throw new IllegalArgumentException("Resume file size must be less than 5MB");
+                }
+
+                int partNumber = parts.size() + 1;
+                String etag = s3.uploadPart(b -> b.bucket(bucket).key(tempKey).uploadId(uploadId).partNumber(partNumber),
+                        RequestBody.fromBytes(filled == PART_SIZE ? buffer : Arrays.copyOf(buffer, filled))).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+
+                if (filled < PART_SIZE) {
+                    break;
+                }
+            }
+
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(tempKey).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(parts)));
+            uploaded = true;
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String key = ResumeStorageService.keyFor(sha256, contentType);
+
+            boolean deduplicated = exists(key);
+            if (!deduplicated) {
+                s3.copyObject(b -> b.sourceBucket(bucket).sourceKey(tempKey)
+                        .destinationBucket(bucket).destinationKey(key));
+            }
+
+            log.info("Resume stored as s3://{}/{} ({} bytes{})", bucket, key, size, deduplicated ? ", deduplicated" : "");
+            return new StoredResume(key, sha256, size, contentType, deduplicated);
+
+        } catch (SdkException e) {
+            throw new IOException("S3 upload failed: " + e.getMessage(), e);
+        } finally {
+            if (uploaded) {
+                deleteQuietly(tempKey);
+            } else {
+                abortQuietly(tempKey, uploadId);
+            }
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(b -> b.bucket(bucket).key(key));
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (SdkException e) {
+            throw new IOException("S3 download failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<ResumeLocation> locate(String key) throws IOException {
+        // Only content-addressed keys live in the bucket; legacy local paths are not migrated here
+        if (key == null || ResumeStorageService.checksumOf(key) == null || !exists(key)) {
+            return Optional.empty();
+        }
+        URI url = URI.create(presigner.presignGetObject(p -> p
+                        .signatureDuration(urlExpiry)
+                        .getObjectRequest(g -> g.bucket(bucket).key(key)))
+                .url().toString());
+        return Optional.of(ResumeLocation.redirect(url));
+    }
+
+    private boolean exists(String key) throws IOException {
+        try {
+            s3.headObject(b -> b.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("S3 lookup failed: " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new IOException("S3 lookup failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            s3.deleteObject(b -> b.bucket(bucket).key(key));
+        } catch (RuntimeException e) {
+            log.warn("Could not delete temporary resume object {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (RuntimeException e) {
+            log.warn("Could not abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+}
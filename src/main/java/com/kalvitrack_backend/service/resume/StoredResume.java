@@ -0,0 +1,22 @@
+package com.kalvitrack_backend.service.resume;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Result of storing a resume upload. The key is relative to app.upload.dir and is what
+ * gets saved in Student.resumePath.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StoredResume {
+
+    private final String key;
+    private final String sha256;
+    private final long size;
+    private final String contentType;
+    // True if identical content was already stored and the upload was discarded
+    private final boolean deduplicated;
+}
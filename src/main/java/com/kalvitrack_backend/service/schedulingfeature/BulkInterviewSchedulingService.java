@@ -0,0 +1,459 @@
+package com.kalvitrack_backend.service.schedulingfeature;
+
+import com.kalvitrack_backend.dto.scheduling.BulkScheduleRequestDTO;
+import com.kalvitrack_backend.entity.InterviewSession;
+import com.kalvitrack_backend.entity.Interviewer;
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import com.kalvitrack_backend.entity.Student;
+import com.kalvitrack_backend.entity.User;
+import com.kalvitrack_backend.repository.*;
+import com.kalvitrack_backend.service.availability.AvailabilityCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns many students to free interviewer availability in one call (HR "interview drive").
+ *
+ * Greedy earliest-slot-first: every free availability block is a cursor in a priority queue
+ * ordered by (date, cursor time, interviews already planned for that interviewer that day), so
+ * each student gets the earliest slot left and parallel interviewers are filled evenly.
+ * Existing sessions are skipped with the conflict index and maxInterviewsPerDay is respected.
+ * The plan is then written in one transaction: sessions in Hibernate JDBC batches, the used
+ * blocks claimed and their leftover time merged back into the interviewer's free availability.
+ */
+@Service
+@Transactional
+public class BulkInterviewSchedulingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkInterviewSchedulingService.class);
+
+    public static final int MAX_BULK_STUDENTS = 1000;
+    public static final int MIN_DURATION_MINUTES = 5;
+    public static final int MAX_DURATION_MINUTES = 480;
+
+    // Re-plans after losing availability blocks to concurrent schedulers
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    // Interviewer.maxInterviewsPerDay column default
+    private static final int DEFAULT_MAX_INTERVIEWS_PER_DAY = 5;
+
+    @Autowired
+    private InterviewSessionRepository interviewSessionRepository;
+
+    @Autowired
+    private InterviewerAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private InterviewerRepository interviewerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SchedulingEmailService emailService;
+
+    @Autowired
+    private InterviewConflictIndex conflictIndex;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    /**
+     * Plan (and unless dryRun, save) interviews for the given students
+     */
+    public Map<String, Object> scheduleBulk(BulkScheduleRequestDTO dto, Long hrUserId) {
+        validate(dto);
+        long started = System.currentTimeMillis();
+
+        logger.debug("Bulk scheduling {} students, range {} - {}, duration {} min, dryRun {}",
+                dto.getStudentIds().size(), dto.getFromDate(), dto.getToDate(), dto.getDurationMinutes(), dto.isDryRun());
+
+        List<Map<String, Object>> unassigned = new ArrayList<>();
+        List<Student> students = loadSchedulableStudents(dto.getStudentIds(), unassigned);
+
+        List<InterviewerAvailability> freeBlocks = availabilityRepository.findAvailableSlots(dto.getFromDate(), dto.getToDate());
+        Map<Long, Interviewer> interviewers = interviewerRepository.findAllById(
+                        freeBlocks.stream().map(InterviewerAvailability::getInterviewerId).collect(Collectors.toSet()))
+                .stream()
+                .filter(interviewer -> Boolean.TRUE.equals(interviewer.getIsActive()))
+                .collect(Collectors.toMap(Interviewer::getInterviewerId, Function.identity()));
+
+        // Loaded up front so the notification lookups below are served from the persistence context
+        Map<Long, User> users = userRepository.findAllById(interviewers.values().stream()
+                        .map(Interviewer::getUserId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<Assignment> assignments = dto.isDryRun()
+                ? plan(students, freeBlocks, interviewers, dto, unassigned)
+                : planAndClaim(students, freeBlocks, interviewers, dto, unassigned);
+
+        if (!dto.isDryRun() && !assignments.isEmpty()) {
+            assignments = save(assignments, hrUserId, dto.getRemarks(), unassigned);
+        }
+
+        List<Map<String, Object>> plan = assignments.stream()
+                .map(assignment -> toResponse(assignment, interviewers, users))
+                .collect(Collectors.toList());
+
+        logger.info("Bulk scheduling {} {} interviews, {} unassigned in {} ms", dto.isDryRun() ? "planned" : "scheduled",
+                assignments.size(), unassigned.size(), System.currentTimeMillis() - started);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("dryRun", dto.isDryRun());
+        response.put("requested", dto.getStudentIds().size());
+        response.put("scheduled", assignments.size());
+        response.put("assignments", plan);
+        response.put("unassigned", unassigned);
+        return response;
+    }
+
+    private void validate(BulkScheduleRequestDTO dto) {
+        if (dto.getStudentIds() == null || dto.getStudentIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one student is required");
+        }
+        if (dto.getStudentIds().size() > MAX_BULK_STUDENTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_STUDENTS + " students can be scheduled in one request");
+        }
+        if (dto.getFromDate() == null || dto.getToDate() == null) {
+            throw new IllegalArgumentException("fromDate and toDate are required");
+        }
+        if (dto.getToDate().isBefore(dto.getFromDate())) {
+            throw new IllegalArgumentException("toDate must not be before fromDate");
+        }
+        if (dto.getFromDate().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot schedule interviews in the past");
+        }
+        if (dto.getDurationMinutes() == null
+                || dto.getDurationMinutes() < MIN_DURATION_MINUTES
+                || dto.getDurationMinutes() > MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("durationMinutes must be between "
+                    + MIN_DURATION_MINUTES + " and " + MAX_DURATION_MINUTES);
+        }
+    }
+
+    /**
+     * Same checks as scheduleInterview, with one query each for the whole list
+     */
+    private List<Student> loadSchedulableStudents(List<Long> requestedIds, List<Map<String, Object>> unassigned) {
+        Set<Long> ids = new LinkedHashSet<>(requestedIds);
+        Map<Long, Student> found = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Set<Long> alreadyScheduled = new HashSet<>(interviewSessionRepository.findStudentIdsWithActiveInterview(ids));
+
+        List<Student> students = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Student student = found.get(id);
+            if (student == null) {
+                unassigned.add(unassignedEntry(id, "Student not found"));
+            } else if (student.getStatus() != Student.StudentStatus.ACTIVE) {
+                unassigned.add(unassignedEntry(id, "Student account is not active"));
+            } else if (alreadyScheduled.contains(id)) {
+                unassigned.add(unassignedEntry(id, "Student already has an active interview scheduled"));
+            } else {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    private List<Assignment> plan(List<Student> students, List<InterviewerAvailability> freeBlocks,
+                                  Map<Long, Interviewer> interviewers, BulkScheduleRequestDTO dto,
+                                  List<Map<String, Object>> unassigned) {
+        Map<InterviewerDay, Integer> dailyCounts = new HashMap<>();
+        for (Object[] row : interviewSessionRepository.countSessionsPerInterviewerDay(dto.getFromDate(), dto.getToDate())) {
+            dailyCounts.put(new InterviewerDay((Long) row[0], (LocalDate) row[1]), ((Number) row[2]).intValue());
+        }
+
+        PriorityQueue<BlockCursor> queue = new PriorityQueue<>(Comparator
+                .comparing((BlockCursor cursor) -> cursor.block.getAvailableDate())
+                .thenComparing(cursor -> cursor.next)
+                .thenComparingInt(cursor -> cursor.plannedThatDay)
+                .thenComparing(cursor -> cursor.block.getInterviewerId()));
+        for (InterviewerAvailability block : freeBlocks) {
+            if (interviewers.containsKey(block.getInterviewerId())) {
+                BlockCursor cursor = new BlockCursor(block);
+                cursor.plannedThatDay = dailyCounts.getOrDefault(cursor.day(), 0);
+                queue.add(cursor);
+            }
+        }
+
+        long duration = dto.getDurationMinutes();
+        List<Assignment> assignments = new ArrayList<>(students.size());
+        // Time handed out by this plan, start -> end per interviewer-day; free blocks of one day may
+        // overlap (submitted that way, or not compacted yet), so two cursors can reach the same time
+        Map<InterviewerDay, TreeMap<LocalTime, LocalTime>> plannedBusy = new HashMap<>();
+        Iterator<Student> pending = students.iterator();
+
+        while (pending.hasNext() && !queue.isEmpty()) {
+            BlockCursor cursor = queue.poll();
+            InterviewerDay day = cursor.day();
+            int planned = dailyCounts.getOrDefault(day, 0);
+            if (planned >= maxPerDay(interviewers.get(day.interviewerId()))) {
+                continue; // interviewer is full that day - drop the block
+            }
+
+            TreeMap<LocalTime, LocalTime> dayBusy = plannedBusy.computeIfAbsent(day, key -> new TreeMap<>());
+            LocalTime start = nextFreeStart(cursor, day, dayBusy, duration);
+            if (start == null) {
+                continue; // nothing left in this block
+            }
+
+            LocalTime end = start.plusMinutes(duration);
+            assignments.add(new Assignment(pending.next(), cursor.block, start, end, null));
+            dayBusy.put(start, end);
+            dailyCounts.put(day, planned + 1);
+            cursor.next = end;
+            cursor.plannedThatDay = planned + 1;
+            queue.add(cursor);
+        }
+
+        pending.forEachRemaining(student -> unassigned.add(unassignedEntry(student.getId(), "No free interviewer slot in the date range")));
+        return assignments;
+    }
+
+    /**
+     * Plan, then claim every block the plan uses with the conditional claimSlot update. Blocks lost
+     * to a concurrent scheduler are dropped and the plan is rebuilt without them; blocks claimed in
+     * an earlier round that the final plan doesn't use are released again.
+     */
+    private List<Assignment> planAndClaim(List<Student> students, List<InterviewerAvailability> freeBlocks,
+                                          Map<Long, Interviewer> interviewers, BulkScheduleRequestDTO dto,
+                                          List<Map<String, Object>> unassigned) {
+        Set<InterviewerAvailability> claimed = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<InterviewerAvailability> candidates = new ArrayList<>(freeBlocks);
+
+        for (int attempt = 1; ; attempt++) {
+            List<Map<String, Object>> attemptUnassigned = new ArrayList<>();
+            List<Assignment> assignments = plan(students, candidates, interviewers, dto, attemptUnassigned);
+
+            Set<InterviewerAvailability> used = Collections.newSetFromMap(new IdentityHashMap<>());
+            assignments.forEach(assignment -> used.add(assignment.block()));
+
+            Set<InterviewerAvailability> lost = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (InterviewerAvailability block : used) {
+                if (claimed.contains(block)) {
+                    continue;
+                }
+                if (availabilityCalendar.claim(block)) {
+                    claimed.add(block);
+                } else {
+                    lost.add(block);
+                }
+            }
+
+            if (lost.isEmpty() || attempt == MAX_CLAIM_ATTEMPTS) {
+                List<Assignment> kept = new ArrayList<>(assignments.size());
+                for (Assignment assignment : assignments) {
+                    if (lost.contains(assignment.block())) {
+                        attemptUnassigned.add(unassignedEntry(assignment.student().getId(), "Slot was taken while scheduling"));
+                    } else {
+                        kept.add(assignment);
+                    }
+                }
+                for (InterviewerAvailability block : claimed) {
+                    if (!used.contains(block)) {
+                        availabilityCalendar.unclaim(block);
+                    }
+                }
+                unassigned.addAll(attemptUnassigned);
+                return kept;
+            }
+
+            logger.warn("{} availability blocks were booked concurrently, re-planning (attempt {} of {})",
+                    lost.size(), attempt + 1, MAX_CLAIM_ATTEMPTS);
+            candidates.removeIf(lost::contains);
+        }
+    }
+
+    /**
+     * Earliest start at or after the cursor that fits the duration inside the block without
+     * running into an existing session or a slot this plan already handed out, or null if the
+     * block has no room left
+     */
+    private LocalTime nextFreeStart(BlockCursor cursor, InterviewerDay day, TreeMap<LocalTime, LocalTime> dayBusy,
+                                    long duration) {
+        LocalTime start = cursor.next;
+        while (fits(start, duration, cursor.block.getEndTime())) {
+            LocalTime end = start.plusMinutes(duration);
+            LocalTime busyUntil = conflictIndex.busyUntil(day.interviewerId(), day.date(), start, end);
+            if (busyUntil == null) {
+                // Planned slots never overlap, so only the last one starting before end can
+                Map.Entry<LocalTime, LocalTime> planned = dayBusy.lowerEntry(end);
+                if (planned != null && planned.getValue().isAfter(start)) {
+                    busyUntil = planned.getValue();
+                }
+            }
+            if (busyUntil == null) {
+                return start;
+            }
+            start = busyUntil;
+        }
+        return null;
+    }
+
+    private boolean fits(LocalTime start, long duration, LocalTime blockEnd) {
+        // Minutes arithmetic avoids LocalTime wrapping past midnight
+        long startMinute = start.toSecondOfDay() / 60;
+        long endMinute = blockEnd.toSecondOfDay() / 60;
+        return startMinute + duration <= endMinute;
+    }
+
+    private int maxPerDay(Interviewer interviewer) {
+        Integer max = interviewer.getMaxInterviewsPerDay();
+        return max != null ? max : DEFAULT_MAX_INTERVIEWS_PER_DAY;
+    }
+
+    /**
+     * Write the plan: re-check each slot against the sessions booked in the database (another HR user
+     * may have booked meanwhile), loaded once per interviewer for all planned days, and against the
+     * slots saved earlier in this run. Inserts are flushed together as JDBC batches; then what is
+     * left of each used block goes back to the free pool.
+     */
+    private List<Assignment> save(List<Assignment> planned, Long hrUserId, String remarks,
+                                  List<Map<String, Object>> unassigned) {
+        Map<InterviewerDay, List<InterviewSession>> booked = loadBookedSessions(planned);
+        List<Assignment> saved = new ArrayList<>(planned.size());
+        for (Assignment assignment : planned) {
+            InterviewerDay day = new InterviewerDay(assignment.block().getInterviewerId(), assignment.block().getAvailableDate());
+            List<InterviewSession> dayBooked = booked.computeIfAbsent(day, key -> new ArrayList<>());
+            if (overlapsAny(dayBooked, assignment.start(), assignment.end())) {
+                unassigned.add(unassignedEntry(assignment.student().getId(), "Slot was taken while scheduling"));
+                continue;
+            }
+
+            // Id comes from the pooled generator without an insert; Hibernate batches the inserts at flush
+            InterviewSession session = interviewSessionRepository.save(toSession(assignment, hrUserId, remarks));
+            dayBooked.add(session);
+            conflictIndex.book(session);
+            saved.add(assignment.withSessionId(session.getSessionId()));
+
+            // Queued in the outbox; sent after commit
+            emailService.sendInterviewScheduledNotification(session);
+        }
+        if (saved.isEmpty()) {
+            return saved;
+        }
+
+        returnUnusedTime(saved);
+        return saved;
+    }
+
+    /**
+     * Booked sessions of every interviewer-day the plan uses, with one query per interviewer.
+     * Runs before the first insert, so nothing of this run is flushed by it.
+     */
+    private Map<InterviewerDay, List<InterviewSession>> loadBookedSessions(List<Assignment> planned) {
+        Map<Long, Set<LocalDate>> datesByInterviewer = new HashMap<>();
+        for (Assignment assignment : planned) {
+            datesByInterviewer.computeIfAbsent(assignment.block().getInterviewerId(), id -> new HashSet<>())
+                    .add(assignment.block().getAvailableDate());
+        }
+
+        Map<InterviewerDay, List<InterviewSession>> booked = new HashMap<>();
+        datesByInterviewer.forEach((interviewerId, dates) -> {
+            for (InterviewSession session : interviewSessionRepository.findBookedSessionsForDays(interviewerId, dates)) {
+                booked.computeIfAbsent(new InterviewerDay(interviewerId, session.getInterviewDate()), key -> new ArrayList<>())
+                        .add(session);
+            }
+        });
+        return booked;
+    }
+
+    private boolean overlapsAny(List<InterviewSession> sessions, LocalTime start, LocalTime end) {
+        return sessions.stream().anyMatch(session -> session.getStartTime().isBefore(end) && session.getEndTime().isAfter(start));
+    }
+
+    /**
+     * Give back what each used block has left around its new sessions (the block itself was
+     * claimed), merged with the interviewer's other free time that day
+     */
+    private void returnUnusedTime(List<Assignment> saved) {
+        Map<InterviewerAvailability, List<Assignment>> byBlock = saved.stream()
+                .collect(Collectors.groupingBy(Assignment::block, IdentityHashMap::new, Collectors.toList()));
+
+        byBlock.forEach((block, sessions) -> availabilityCalendar.book(block, sessions.stream()
+                .map(assignment -> new AvailabilityCalendar.TimeRange(assignment.start(), assignment.end()))
+                .toList()));
+    }
+
+    private InterviewSession toSession(Assignment assignment, Long hrUserId, String remarks) {
+        InterviewSession session = new InterviewSession();
+        session.setStudentId(assignment.student().getId());
+        session.setInterviewerId(assignment.block().getInterviewerId());
+        session.setScheduledByHr(hrUserId);
+        session.setInterviewDate(assignment.block().getAvailableDate());
+        session.setStartTime(assignment.start());
+        session.setEndTime(assignment.end());
+        session.setSessionStatus(InterviewSession.SessionStatus.SCHEDULED);
+        session.setRemarks(remarks);
+        session.setIsActive(true);
+        return session;
+    }
+
+    private Map<String, Object> toResponse(Assignment assignment, Map<Long, Interviewer> interviewers, Map<Long, User> users) {
+        Interviewer interviewer = interviewers.get(assignment.block().getInterviewerId());
+        User interviewerUser = interviewer.getUserId() != null ? users.get(interviewer.getUserId()) : null;
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("sessionId", assignment.sessionId());
+        data.put("studentId", assignment.student().getId());
+        data.put("studentName", assignment.student().getFullName());
+        data.put("studentEmail", assignment.student().getEmail());
+        data.put("interviewerId", interviewer.getInterviewerId());
+        data.put("interviewerName", interviewerUser != null ? interviewerUser.getFullName() : "Unknown");
+        data.put("availabilityId", assignment.block().getAvailabilityId());
+        data.put("interviewDate", assignment.block().getAvailableDate());
+        data.put("startTime", assignment.start());
+        data.put("endTime", assignment.end());
+        return data;
+    }
+
+    private Map<String, Object> unassignedEntry(Long studentId, String reason) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("studentId", studentId);
+        entry.put("reason", reason);
+        return entry;
+    }
+
+    private record InterviewerDay(Long interviewerId, LocalDate date) {
+    }
+
+    private record Assignment(Student student, InterviewerAvailability block,
+                              LocalTime start, LocalTime end, Long sessionId) {
+
+        Assignment withSessionId(Long id) {
+            return new Assignment(student, block, start, end, id);
+        }
+    }
+
+    private static final class BlockCursor {
+        final InterviewerAvailability block;
+        LocalTime next;
+        // Snapshot taken when queued; keeps the heap order stable while counts change
+        int plannedThatDay;
+
+        BlockCursor(InterviewerAvailability block) {
+            this.block = block;
+            this.next = block.getStartTime();
+        }
+
+        InterviewerDay day() {
+            return new InterviewerDay(block.getInterviewerId(), block.getAvailableDate());
+        }
+    }
+}
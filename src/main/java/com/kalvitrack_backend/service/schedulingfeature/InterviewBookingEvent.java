@@ -0,0 +1,22 @@
+package com.kalvitrack_backend.service.schedulingfeature;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a session is booked into or released from the conflict index;
+ * settled once the surrounding transaction commits or rolls back
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class InterviewBookingEvent {
+
+    private final Long interviewerId;
+    private final LocalDate date;
+    private final Long sessionId;
+    private final boolean released;
+}
@@ -0,0 +1,279 @@
+package com.kalvitrack_backend.service.schedulingfeature;
+
+import com.kalvitrack_backend.entity.InterviewSession;
+import com.kalvitrack_backend.repository.InterviewSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of which times each interviewer is booked, per day, for scheduling conflict checks.
+ * A day is loaded lazily with one indexed query the first time it is checked and then kept in sync
+ * by book/release, so checking a candidate slot is an O(log n) lookup instead of a table scan.
+ *
+ * New bookings are visible immediately (so a bulk run sees its own earlier rows) but stay pending
+ * until their transaction commits, and are dropped again on rollback. Other instances can book or
+ * cancel behind this view, so every answer is confirmed with the canonical overlap query
+ * (hasOverlappingSession); a day that disagrees with the database is reloaded.
+ */
+@Component
+public class InterviewConflictIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewConflictIndex.class);
+
+    private final InterviewSessionRepository interviewSessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<DayKey, DaySchedule> days = new ConcurrentHashMap<>();
+
+    public InterviewConflictIndex(InterviewSessionRepository interviewSessionRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.interviewSessionRepository = interviewSessionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * True if the interviewer has nothing booked overlapping [start, end) on that date
+     */
+    public boolean isFree(Long interviewerId, LocalDate date, LocalTime start, LocalTime end) {
+        DayKey key = new DayKey(interviewerId, date);
+        Booking hit = day(key).findConflict(start, end);
+
+        if (hit != null && hit.pending) {
+            // Booked by a transaction on this instance that hasn't committed yet
+            return false;
+        }
+
+        boolean overlapsInDb = interviewSessionRepository.hasOverlappingSession(interviewerId, date, start, end);
+        if (overlapsInDb != (hit != null)) {
+            // Booked or cancelled elsewhere since this day was loaded
+            logger.debug("Conflict index for interviewer {} on {} was stale, reloading", interviewerId, date);
+            reload(key);
+        }
+        return !overlapsInDb;
+    }
+
+    /**
+     * Planning lookup from memory only: null if [start, end) looks free, otherwise the end of the
+     * busy block it runs into (the earliest time worth trying next). Confirm against the database before booking.
+     */
+    public LocalTime busyUntil(Long interviewerId, LocalDate date, LocalTime start, LocalTime end) {
+        return day(new DayKey(interviewerId, date)).busyUntil(start, end);
+    }
+
+    /**
+     * Record a newly saved session; committed with the caller's transaction, removed on rollback
+     */
+    public void book(InterviewSession session) {
+        DayKey key = new DayKey(session.getInterviewerId(), session.getInterviewDate());
+        day(key).add(new Booking(session.getSessionId(), session.getStartTime(), session.getEndTime(), true));
+        eventPublisher.publishEvent(new InterviewBookingEvent(key.interviewerId(), key.date(), session.getSessionId(), false));
+    }
+
+    /**
+     * Free a cancelled session's time once the cancellation commits
+     */
+    public void release(InterviewSession session) {
+        eventPublisher.publishEvent(new InterviewBookingEvent(
+                session.getInterviewerId(), session.getInterviewDate(), session.getSessionId(), true));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingCommitted(InterviewBookingEvent event) {
+        DaySchedule day = days.get(new DayKey(event.getInterviewerId(), event.getDate()));
+        if (day == null) {
+            return;
+        }
+        if (event.isReleased()) {
+            day.remove(event.getSessionId());
+        } else {
+            day.commit(event.getSessionId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onBookingRolledBack(InterviewBookingEvent event) {
+        DaySchedule day = days.get(new DayKey(event.getInterviewerId(), event.getDate()));
+        if (day != null && !event.isReleased()) {
+            day.remove(event.getSessionId());
+        }
+    }
+
+    /**
+     * Past days can no longer be scheduled - drop them
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private DaySchedule day(DayKey key) {
+        DaySchedule day = days.get(key);
+        if (day != null) {
+            return day;
+        }
+        // Loaded outside the map so the query never runs under a ConcurrentHashMap bin lock
+        DaySchedule loaded = load(key);
+        DaySchedule existing = days.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void reload(DayKey key) {
+        DaySchedule fresh = load(key);
+        DaySchedule previous = days.put(key, fresh);
+        if (previous != null) {
+            previous.pendingBookings().forEach(fresh::add);
+        }
+    }
+
+    private DaySchedule load(DayKey key) {
+        DaySchedule day = new DaySchedule();
+        for (InterviewSession session : interviewSessionRepository.findBookedSessionsForDay(key.interviewerId(), key.date())) {
+            day.add(new Booking(session.getSessionId(), session.getStartTime(), session.getEndTime(), false));
+        }
+        return day;
+    }
+
+    private record DayKey(Long interviewerId, LocalDate date) {
+    }
+
+    private static final class Booking {
+        final Long sessionId;
+        final LocalTime start;
+        final LocalTime end;
+        volatile boolean pending;
+
+        Booking(Long sessionId, LocalTime start, LocalTime end, boolean pending) {
+            this.sessionId = sessionId;
+            this.start = start;
+            this.end = end;
+            this.pending = pending;
+        }
+
+        boolean overlaps(LocalTime otherStart, LocalTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+
+    /**
+     * One interviewer-day: bookings coalesced into disjoint busy blocks keyed by start time.
+     * Since blocks don't overlap, the only block that can overlap [start, end) is the last one
+     * starting before end, so a conflict check is a single floor lookup. Legacy rows that
+     * overlap each other just end up in the same block.
+     */
+    private static final class DaySchedule {
+        private final TreeMap<LocalTime, Block> blocks = new TreeMap<>();
+        private final Map<Long, Block> blockBySession = new HashMap<>();
+
+        synchronized Booking findConflict(LocalTime start, LocalTime end) {
+            Map.Entry<LocalTime, Block> candidate = blocks.lowerEntry(end);
+            if (candidate == null || !candidate.getValue().end.isAfter(start)) {
+                return null;
+            }
+            for (Booking booking : candidate.getValue().members) {
+                if (booking.overlaps(start, end)) {
+                    return booking;
+                }
+            }
+            return null;
+        }
+
+        synchronized LocalTime busyUntil(LocalTime start, LocalTime end) {
+            Map.Entry<LocalTime, Block> candidate = blocks.lowerEntry(end);
+            if (candidate == null || !candidate.getValue().end.isAfter(start)) {
+                return null;
+            }
+            return candidate.getValue().end;
+        }
+
+        synchronized void add(Booking booking) {
+            // A reload inside the booking transaction already sees its own rows
+            if (blockBySession.containsKey(booking.sessionId)) {
+                remove(booking.sessionId);
+            }
+            insert(booking);
+        }
+
+        private void insert(Booking booking) {
+            Block merged = new Block(booking.start, booking.end);
+            merged.members.add(booking);
+
+            // Absorb every block overlapping the new one; they sit directly below its end
+            Map.Entry<LocalTime, Block> entry = blocks.lowerEntry(booking.end);
+            while (entry != null && entry.getValue().end.isAfter(booking.start)) {
+                Block block = entry.getValue();
+                blocks.remove(entry.getKey());
+                merged.absorb(block);
+                entry = blocks.lowerEntry(entry.getKey());
+            }
+
+            blocks.put(merged.start, merged);
+            merged.members.forEach(member -> blockBySession.put(member.sessionId, merged));
+        }
+
+        synchronized void remove(Long sessionId) {
+            Block block = blockBySession.remove(sessionId);
+            if (block == null) {
+                return;
+            }
+            blocks.remove(block.start);
+            // Split what is left of the block back into disjoint pieces
+            for (Booking member : block.members) {
+                if (!member.sessionId.equals(sessionId)) {
+                    insert(member);
+                }
+            }
+        }
+
+        synchronized void commit(Long sessionId) {
+            Block block = blockBySession.get(sessionId);
+            if (block != null) {
+                block.members.stream()
+                        .filter(member -> member.sessionId.equals(sessionId))
+                        .forEach(member -> member.pending = false);
+            }
+        }
+
+        synchronized List<Booking> pendingBookings() {
+            List<Booking> pending = new ArrayList<>();
+            blocks.values().forEach(block -> block.members.stream()
+                    .filter(member -> member.pending)
+                    .forEach(pending::add));
+            return pending;
+        }
+    }
+
+    private static final class Block {
+        LocalTime start;
+        LocalTime end;
+        final List<Booking> members = new ArrayList<>(2);
+
+        Block(LocalTime start, LocalTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void absorb(Block other) {
+            if (other.start.isBefore(start)) {
+                start = other.start;
+            }
+            if (other.end.isAfter(end)) {
+                end = other.end;
+            }
+            members.addAll(other.members);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.kalvitrack_backend.service.schedulingfeature;
 
+import com.kalvitrack_backend.dto.scheduling.InterviewListCursor;
 import com.kalvitrack_backend.dto.scheduling.ScheduleInterviewDTO;
 import com.kalvitrack_backend.entity.InterviewSession;
 import com.kalvitrack_backend.entity.InterviewerAvailability;
@@ -7,8 +8,9 @@ import com.kalvitrack_backend.entity.Student;
 import com.kalvitrack_backend.entity.Interviewer;
 import com.kalvitrack_backend.entity.User;
 import com.kalvitrack_backend.repository.*;
+import com.kalvitrack_backend.service.availability.AvailabilityCalendar;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class InterviewSchedulingService {
 
+    // Upper bound for one page of the interview listing
+    public static final int MAX_PAGE_SIZE = 200;
 
     @Autowired
     private InterviewSessionRepository interviewSessionRepository;
@@ -38,6 +42,12 @@ public class InterviewSchedulingService {
     private UserRepository userRepository;
     @Autowired
     private SchedulingEmailService emailService;
+
+    @Autowired
+    private InterviewConflictIndex conflictIndex;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
     /**
      * Schedule an interview (HR functionality)
      */
@@ -84,6 +94,9 @@ public class InterviewSchedulingService {
         LocalTime startTime = LocalTime.parse(dto.getStartTime());
         LocalTime endTime = LocalTime.parse(dto.getEndTime());
 
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
 
         // Validate time slot is within availability
         if (startTime.isBefore(availability.getStartTime()) || endTime.isAfter(availability.getEndTime())) {
@@ -91,11 +104,16 @@ public class InterviewSchedulingService {
         }
 
         // Check for overlapping sessions
-        if (interviewSessionRepository.hasOverlappingSession(
-                dto.getInterviewerId(), dto.getDate(), startTime, endTime)) {
+        if (!conflictIndex.isFree(dto.getInterviewerId(), dto.getDate(), startTime, endTime)) {
             throw new IllegalArgumentException("Interviewer already has a session at this time");
         }
-        splitAvailabilitySlot(availability, startTime, endTime);
+
+        // Claim the slot atomically; if another HR user got there first this matches no row
+        if (!availabilityCalendar.claim(availability)) {
+            throw new IllegalArgumentException("This availability slot was just booked by someone else. Please refresh and pick another slot");
+        }
+        // Whatever is left of the block goes back to the free pool, merged with neighbouring free time
+        availabilityCalendar.book(availability, List.of(new AvailabilityCalendar.TimeRange(startTime, endTime)));
 
         // Create interview session
         InterviewSession session = new InterviewSession();
@@ -110,14 +128,12 @@ public class InterviewSchedulingService {
         session.setIsActive(true);
 
         InterviewSession savedSession = interviewSessionRepository.save(session);
+        conflictIndex.book(savedSession);
 
         System.out.println("✅ Interview scheduled successfully with ID: " + savedSession.getSessionId());
-        try {
-            emailService.sendInterviewScheduledNotification(savedSession);
-        } catch (Exception e) {
-            System.err.println("⚠️ Email notification failed but interview was scheduled: " + e.getMessage());
-            // Don't throw exception - email failure shouldn't break scheduling
-        }
+        // Queued in the outbox as part of this transaction and sent after commit; a failure to
+        // queue marks the transaction rollback-only, so it has to propagate rather than be swallowed
+        emailService.sendInterviewScheduledNotification(savedSession);
         // Get additional details for response
         User interviewerUser = userRepository.findById(interviewer.getUserId()).orElse(null);
 
@@ -134,101 +150,94 @@ public class InterviewSchedulingService {
         return response;
     }
 
-    @Transactional
-    private void splitAvailabilitySlot(InterviewerAvailability originalSlot,
-                                       LocalTime bookedStart,
-                                       LocalTime bookedEnd){
-        System.out.println("🔪 Splitting availability slot:");
-        System.out.println("Original: " + originalSlot.getStartTime() + " - " + originalSlot.getEndTime());
-        System.out.println("Booked: " + bookedStart + " - " + bookedEnd);
-
-        // Mark the original slot as booked/inactive
-        originalSlot.setIsBooked(true);
-        originalSlot.setIsActive(false);
-        availabilityRepository.save(originalSlot);
-
-        // Create slot BEFORE the booked time (if exists)
-        if (originalSlot.getStartTime().isBefore(bookedStart)) {
-            InterviewerAvailability beforeSlot = new InterviewerAvailability();
-            beforeSlot.setInterviewerId(originalSlot.getInterviewerId());
-            beforeSlot.setAvailableDate(originalSlot.getAvailableDate());
-            beforeSlot.setStartTime(originalSlot.getStartTime());
-            beforeSlot.setEndTime(bookedStart);
-            beforeSlot.setIsBooked(false);
-            beforeSlot.setIsActive(true);
-            beforeSlot.setSlotDurationMinutes(originalSlot.getSlotDurationMinutes());
-            beforeSlot.setMaxConcurrentInterviews(originalSlot.getMaxConcurrentInterviews());
-            beforeSlot.setNotes(originalSlot.getNotes());
-
-            availabilityRepository.save(beforeSlot);
-            System.out.println("✅ Created BEFORE slot: " + beforeSlot.getStartTime() + " - " + beforeSlot.getEndTime());
+    /**
+     * Scheduled interviews for the HR dashboard, newest first. Keyset-paginated on
+     * (interviewDate, startTime, sessionId) so every page costs the same regardless of history size.
+     * Filters are optional; pass the previous page's nextCursor to continue.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getScheduledInterviewsPage(LocalDate fromDate, LocalDate toDate,
+                                                          InterviewSession.SessionStatus status,
+                                                          Long interviewerId, Long hrUserId,
+                                                          String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<InterviewSession> sessions;
+        if (cursor == null || cursor.isBlank()) {
+            sessions = interviewSessionRepository.findInterviewPage(
+                    fromDate, toDate, status, interviewerId, hrUserId, page);
+        } else {
+            InterviewListCursor after = InterviewListCursor.decode(cursor);
+            sessions = interviewSessionRepository.findInterviewPageAfter(
+                    fromDate, toDate, status, interviewerId, hrUserId,
+                    after.getInterviewDate(), after.getStartTime(), after.getSessionId(), page);
         }
 
-        // Create slot AFTER the booked time (if exists)
-        if (bookedEnd.isBefore(originalSlot.getEndTime())) {
-            InterviewerAvailability afterSlot = new InterviewerAvailability();
-            afterSlot.setInterviewerId(originalSlot.getInterviewerId());
-            afterSlot.setAvailableDate(originalSlot.getAvailableDate());
-            afterSlot.setStartTime(bookedEnd);
-            afterSlot.setEndTime(originalSlot.getEndTime());
-            afterSlot.setIsBooked(false);
-            afterSlot.setIsActive(true);
-            afterSlot.setSlotDurationMinutes(originalSlot.getSlotDurationMinutes());
-            afterSlot.setMaxConcurrentInterviews(originalSlot.getMaxConcurrentInterviews());
-            afterSlot.setNotes(originalSlot.getNotes());
-
-            availabilityRepository.save(afterSlot);
-            System.out.println("✅ Created AFTER slot: " + afterSlot.getStartTime() + " - " + afterSlot.getEndTime());
+        boolean hasMore = sessions.size() > pageSize;
+        if (hasMore) {
+            sessions = sessions.subList(0, pageSize);
         }
 
-        System.out.println("✅ Slot splitting completed");
-    }
+        SessionParticipants participants = loadParticipants(sessions);
+        List<Map<String, Object>> data = sessions.stream()
+                .map(session -> mapScheduledInterview(session, participants))
+                .collect(Collectors.toList());
 
-    /**
-     * Get all scheduled interviews for HR dashboard
-     */
-    public List<Map<String, Object>> getAllScheduledInterviews() {
-        List<InterviewSession> sessions = interviewSessionRepository.findAllScheduledInterviews();
+        String nextCursor = null;
+        if (hasMore) {
+            InterviewSession last = sessions.get(sessions.size() - 1);
+            nextCursor = new InterviewListCursor(last.getInterviewDate(), last.getStartTime(), last.getSessionId()).encode();
+        }
 
-        return sessions.stream().map(session -> {
-            Map<String, Object> sessionData = new HashMap<>();
+        Map<String, Object> result = new HashMap<>();
+        result.put("data", data);
+        result.put("count", data.size());
+        result.put("hasMore", hasMore);
+        result.put("nextCursor", nextCursor);
+        return result;
+    }
 
-            // Get student details
-            Student student = studentRepository.findById(session.getStudentId()).orElse(null);
-            if (student != null) {
-                sessionData.put("studentId", student.getId());
-                sessionData.put("studentName", student.getFullName());
-                sessionData.put("studentEmail", student.getEmail());
-                sessionData.put("studentMobile", student.getMobileNumber());
-                sessionData.put("studentCollege", student.getCollegeName());
-            }
+    private Map<String, Object> mapScheduledInterview(InterviewSession session, SessionParticipants participants) {
+        Map<String, Object> sessionData = new HashMap<>();
 
-            // Get interviewer details
-            Interviewer interviewer = interviewerRepository.findById(session.getInterviewerId()).orElse(null);
-            if (interviewer != null) {
-                User interviewerUser = userRepository.findById(interviewer.getUserId()).orElse(null);
-                if (interviewerUser != null) {
-                    sessionData.put("interviewerId", interviewer.getInterviewerId());
-                    sessionData.put("interviewerName", interviewerUser.getFullName());
-                    sessionData.put("interviewerEmail", interviewerUser.getEmail());
-                    sessionData.put("interviewerRole", interviewerUser.getRole());
-                }
+        // Get student details
+        Student student = participants.student(session);
+        if (student != null) {
+            sessionData.put("studentId", student.getId());
+            sessionData.put("studentName", student.getFullName());
+            sessionData.put("studentEmail", student.getEmail());
+            sessionData.put("studentMobile", student.getMobileNumber());
+            sessionData.put("studentCollege", student.getCollegeName());
+        }
+
+        // Get interviewer details
+        Interviewer interviewer = participants.interviewer(session);
+        if (interviewer != null) {
+            User interviewerUser = participants.user(interviewer);
+            if (interviewerUser != null) {
+                sessionData.put("interviewerId", interviewer.getInterviewerId());
+                sessionData.put("interviewerName", interviewerUser.getFullName());
+                sessionData.put("interviewerEmail", interviewerUser.getEmail());
+                sessionData.put("interviewerRole", interviewerUser.getRole());
             }
+        }
 
-            // Session details
-            sessionData.put("sessionId", session.getSessionId());
-            sessionData.put("date", session.getInterviewDate());
-            sessionData.put("startTime", session.getStartTime());
-            sessionData.put("endTime", session.getEndTime());
-            sessionData.put("status", session.getSessionStatus());
-            sessionData.put("meetingLink", session.getMeetingLink());
-            sessionData.put("interviewResult", session.getInterviewResult());
-            sessionData.put("remarks", session.getRemarks());
-            sessionData.put("createdAt", session.getCreatedAt());
-
-            return sessionData;
-        }).collect(Collectors.toList());
+        // Session details
+        sessionData.put("sessionId", session.getSessionId());
+        sessionData.put("date", session.getInterviewDate());
+        sessionData.put("startTime", session.getStartTime());
+        sessionData.put("endTime", session.getEndTime());
+        sessionData.put("status", session.getSessionStatus());
+        sessionData.put("meetingLink", session.getMeetingLink());
+        sessionData.put("interviewResult", session.getInterviewResult());
+        sessionData.put("remarks", session.getRemarks());
+        sessionData.put("createdAt", session.getCreatedAt());
+
+        return sessionData;
     }
+
     /**
      * Get assigned students for an interviewer (for panelist portal)
      */
@@ -242,11 +251,17 @@ public class InterviewSchedulingService {
 
         System.out.println("Found " + sessions.size() + " sessions");
 
+        // Students are loaded in one query, not one per session
+        Map<Long, Student> studentsById = studentRepository.findAllById(
+                        sessions.stream().map(InterviewSession::getStudentId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Student::getId, s -> s));
+
         return sessions.stream().map(session -> {
             Map<String, Object> studentData = new HashMap<>();
 
             // Get student details
-            Student student = studentRepository.findById(session.getStudentId()).orElse(null);
+            Student student = studentsById.get(session.getStudentId());
             if (student != null) {
                 studentData.put("sessionId", session.getSessionId());
                 studentData.put("studentName", student.getFullName());
@@ -282,6 +297,45 @@ public class InterviewSchedulingService {
      * Cancel an interview
      */
     public void cancelInterview(Long sessionId, Long hrUserId) {
+        InterviewSession session = findChangeableSession(sessionId, "cancel");
+
+        session.setSessionStatus(InterviewSession.SessionStatus.CANCELLED);
+        session.setIsActive(false);
+        interviewSessionRepository.save(session);
+        conflictIndex.release(session);
+        releaseTime(session);
+
+        System.out.println("✅ Interview cancelled: Session ID " + sessionId);
+    }
+
+    /**
+     * Move an interview to another availability slot. The old session is marked RESCHEDULED, the
+     * new one is booked exactly like scheduleInterview (same student), and the old time goes back
+     * to the interviewer's free pool - all in one transaction.
+     */
+    public Map<String, Object> rescheduleInterview(Long sessionId, ScheduleInterviewDTO dto, Long hrUserId) {
+        InterviewSession session = findChangeableSession(sessionId, "reschedule");
+
+        session.setSessionStatus(InterviewSession.SessionStatus.RESCHEDULED);
+        session.setIsActive(false);
+        // Flushed so the overlap check for the new slot (which doesn't flush) no longer sees it
+        interviewSessionRepository.saveAndFlush(session);
+        conflictIndex.release(session);
+
+        // Book first: the slot the HR user picked must still exist when it is claimed
+        dto.setStudentId(session.getStudentId());
+        if (dto.getRemarks() == null) {
+            dto.setRemarks(session.getRemarks());
+        }
+        Map<String, Object> response = scheduleInterview(dto, hrUserId);
+        releaseTime(session);
+
+        response.put("previousSessionId", sessionId);
+        System.out.println("✅ Interview rescheduled: Session ID " + sessionId + " -> " + response.get("sessionId"));
+        return response;
+    }
+
+    private InterviewSession findChangeableSession(Long sessionId, String action) {
         InterviewSession session = interviewSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Interview session not found"));
 
@@ -290,14 +344,20 @@ public class InterviewSchedulingService {
         }
 
         if (session.getSessionStatus().equals(InterviewSession.SessionStatus.COMPLETED)) {
-            throw new IllegalArgumentException("Cannot cancel a completed interview");
+            throw new IllegalArgumentException("Cannot " + action + " a completed interview");
         }
+        return session;
+    }
 
-        session.setSessionStatus(InterviewSession.SessionStatus.CANCELLED);
-        session.setIsActive(false);
-        interviewSessionRepository.save(session);
-
-        System.out.println("✅ Interview cancelled: Session ID " + sessionId);
+    /**
+     * Hand a session's time back to the interviewer so it can be booked again, merged with the
+     * free time around it
+     */
+    private void releaseTime(InterviewSession session) {
+        if (!session.getInterviewDate().isBefore(LocalDate.now())) {
+            availabilityCalendar.release(session.getInterviewerId(), session.getInterviewDate(),
+                    session.getStartTime(), session.getEndTime());
+        }
     }
 
     /**
@@ -307,7 +367,7 @@ public class InterviewSchedulingService {
         List<InterviewSession> sessions = interviewSessionRepository
                 .findByStudentIdAndIsActiveOrderByInterviewDateDesc(studentId, true);
 
-        return sessions.stream().map(this::mapSessionToResponse).collect(Collectors.toList());
+        return mapSessionsToResponse(sessions);
     }
 
     /**
@@ -317,21 +377,28 @@ public class InterviewSchedulingService {
         List<InterviewSession> sessions = interviewSessionRepository
                 .findByInterviewerIdAndIsActiveOrderByInterviewDateDesc(interviewerId, true);
 
-        return sessions.stream().map(this::mapSessionToResponse).collect(Collectors.toList());
+        return mapSessionsToResponse(sessions);
+    }
+
+    private List<Map<String, Object>> mapSessionsToResponse(List<InterviewSession> sessions) {
+        SessionParticipants participants = loadParticipants(sessions);
+        return sessions.stream()
+                .map(session -> mapSessionToResponse(session, participants))
+                .collect(Collectors.toList());
     }
 
-    private Map<String, Object> mapSessionToResponse(InterviewSession session) {
+    private Map<String, Object> mapSessionToResponse(InterviewSession session, SessionParticipants participants) {
         Map<String, Object> data = new HashMap<>();
 
-        Student student = studentRepository.findById(session.getStudentId()).orElse(null);
+        Student student = participants.student(session);
         if (student != null) {
             data.put("studentName", student.getFullName());
             data.put("studentEmail", student.getEmail());
         }
 
-        Interviewer interviewer = interviewerRepository.findById(session.getInterviewerId()).orElse(null);
+        Interviewer interviewer = participants.interviewer(session);
         if (interviewer != null) {
-            User user = userRepository.findById(interviewer.getUserId()).orElse(null);
+            User user = participants.user(interviewer);
             if (user != null) {
                 data.put("interviewerName", user.getFullName());
             }
@@ -346,4 +413,48 @@ public class InterviewSchedulingService {
 
         return data;
     }
-}
\ No newline at end of file
+
+    /**
+     * Load the students, interviewers and interviewer users referenced by a list of sessions
+     * with three IN queries, so listing N sessions costs a constant number of round-trips.
+     */
+    private SessionParticipants loadParticipants(List<InterviewSession> sessions) {
+        if (sessions.isEmpty()) {
+            return new SessionParticipants(Map.of(), Map.of(), Map.of());
+        }
+
+        Set<Long> studentIds = sessions.stream().map(InterviewSession::getStudentId).collect(Collectors.toSet());
+        Set<Long> interviewerIds = sessions.stream().map(InterviewSession::getInterviewerId).collect(Collectors.toSet());
+
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, s -> s));
+        Map<Long, Interviewer> interviewers = interviewerRepository.findAllById(interviewerIds).stream()
+                .collect(Collectors.toMap(Interviewer::getInterviewerId, i -> i));
+
+        Set<Long> userIds = interviewers.values().stream()
+                .map(Interviewer::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, u -> u));
+
+        return new SessionParticipants(students, interviewers, users);
+    }
+
+    private record SessionParticipants(Map<Long, Student> students,
+                                       Map<Long, Interviewer> interviewers,
+                                       Map<Long, User> users) {
+
+        Student student(InterviewSession session) {
+            return students.get(session.getStudentId());
+        }
+
+        Interviewer interviewer(InterviewSession session) {
+            return interviewers.get(session.getInterviewerId());
+        }
+
+        User user(Interviewer interviewer) {
+            return interviewer.getUserId() != null ? users.get(interviewer.getUserId()) : null;
+        }
+    }
+}
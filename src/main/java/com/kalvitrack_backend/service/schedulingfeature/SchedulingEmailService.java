@@ -7,13 +7,10 @@ import com.kalvitrack_backend.entity.User;
 import com.kalvitrack_backend.repository.StudentRepository;
 import com.kalvitrack_backend.repository.InterviewerRepository;
 import com.kalvitrack_backend.repository.UserRepository;
+import com.kalvitrack_backend.service.mail.OutboundMail;
+import com.kalvitrack_backend.service.mail.OutboundMailService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 
 import java.time.format.DateTimeFormatter;
 
@@ -21,7 +18,7 @@ import java.time.format.DateTimeFormatter;
 public class SchedulingEmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private OutboundMailService outboundMailService;
 
     @Autowired
     private StudentRepository studentRepository;
@@ -32,64 +29,52 @@ public class SchedulingEmailService {
     @Autowired
     private UserRepository userRepository;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
     /**
-     * Send interview scheduled notification to both student and interviewer
+     * Queue the interview scheduled notification for both student and interviewer.
+     * The mails join the caller's transaction through the outbox, so failures propagate
+     * and roll the scheduling back rather than being swallowed here.
      */
     public void sendInterviewScheduledNotification(InterviewSession session) {
-        try {
-            // Get student details
-            Student student = studentRepository.findById(session.getStudentId())
-                    .orElseThrow(() -> new RuntimeException("Student not found"));
-
-            // Get interviewer details
-            Interviewer interviewer = interviewerRepository.findById(session.getInterviewerId())
-                    .orElseThrow(() -> new RuntimeException("Interviewer not found"));
+        // Get student details
+        Student student = studentRepository.findById(session.getStudentId())
+                .orElseThrow(() -> new RuntimeException("Student not found"));
 
-            User interviewerUser = userRepository.findById(interviewer.getUserId())
-                    .orElseThrow(() -> new RuntimeException("Interviewer user not found"));
+        // Get interviewer details
+        Interviewer interviewer = interviewerRepository.findById(session.getInterviewerId())
+                .orElseThrow(() -> new RuntimeException("Interviewer not found"));
 
-            // Send email to student
-            sendEmailToStudent(student, interviewerUser, session);
+        User interviewerUser = userRepository.findById(interviewer.getUserId())
+                .orElseThrow(() -> new RuntimeException("Interviewer user not found"));
 
-            // Send email to interviewer
-            sendEmailToInterviewer(interviewerUser, student, session);
+        // Send email to student
+        sendEmailToStudent(student, interviewerUser, session);
 
-            System.out.println("✅ Email notifications sent successfully for session: " + session.getSessionId());
+        // Send email to interviewer
+        sendEmailToInterviewer(interviewerUser, student, session);
 
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send email notifications: " + e.getMessage());
-            e.printStackTrace();
-            // Don't throw exception - email failure shouldn't break interview scheduling
-        }
+        System.out.println("✅ Email notifications queued for session: " + session.getSessionId());
     }
 
     /**
      * Send email to student
      */
-    private void sendEmailToStudent(Student student, User interviewer, InterviewSession session)
-            throws MessagingException {
-
+    private void sendEmailToStudent(Student student, User interviewer, InterviewSession session) {
         String subject = "Interview Scheduled - KalviTrack";
         String emailBody = buildStudentEmailBody(student, interviewer, session);
 
         sendHtmlEmail(student.getEmail(), subject, emailBody);
-        System.out.println("📧 Email sent to student: " + student.getEmail());
+        System.out.println("📧 Email queued for student: " + student.getEmail());
     }
 
     /**
      * Send email to interviewer
      */
-    private void sendEmailToInterviewer(User interviewer, Student student, InterviewSession session)
-            throws MessagingException {
-
+    private void sendEmailToInterviewer(User interviewer, Student student, InterviewSession session) {
         String subject = "New Interview Scheduled - KalviTrack";
         String emailBody = buildInterviewerEmailBody(interviewer, student, session);
 
         sendHtmlEmail(interviewer.getEmail(), subject, emailBody);
-        System.out.println("📧 Email sent to interviewer: " + interviewer.getEmail());
+        System.out.println("📧 Email queued for interviewer: " + interviewer.getEmail());
     }
 
     /**
@@ -267,17 +252,9 @@ public class SchedulingEmailService {
     }
 
     /**
-     * Send HTML email
+     * Queue HTML email - delivered after the scheduling transaction commits
      */
-    private void sendHtmlEmail(String to, String subject, String htmlBody) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlBody, true); // true = HTML
-
-        mailSender.send(message);
+    private void sendHtmlEmail(String to, String subject, String htmlBody) {
+        outboundMailService.enqueue(OutboundMail.html(to, subject, htmlBody));
     }
 }
\ No newline at end of file
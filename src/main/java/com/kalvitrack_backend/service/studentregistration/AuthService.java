@@ -1,5 +1,6 @@
 package com.kalvitrack_backend.service.studentregistration;
 
+import com.kalvitrack_backend.config.jwthandler.JwtClaims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -94,6 +95,12 @@ public class AuthService {
             return null;
         }
 
+        // Verified JWT claims are the principal for token-authenticated requests
+        if (auth.getPrincipal() instanceof JwtClaims claims) {
+            log.debug("Current user role: {}", claims.getRole());
+            return claims.getRole();
+        }
+
         String role = auth.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
@@ -104,6 +111,25 @@ public class AuthService {
         return role;
     }
 
+    /**
+     * Get current user's verified JWT claims (null if not authenticated by token)
+     */
+    public JwtClaims getCurrentClaims() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof JwtClaims claims)) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Get current user's ID from the verified token
+     */
+    public Long getCurrentUserId() {
+        JwtClaims claims = getCurrentClaims();
+        return claims != null ? claims.getUserId() : null;
+    }
+
     /**
      * Get current username (email)
      */
@@ -0,0 +1,515 @@
+package com.kalvitrack_backend.service.studentregistration;
+
+import com.kalvitrack_backend.dto.csvuploadfeature.StudentCsvRowDto;
+import com.kalvitrack_backend.entity.Student;
+import com.kalvitrack_backend.entity.StudentImportJob;
+import com.kalvitrack_backend.repository.StudentImportJobRepository;
+import com.kalvitrack_backend.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background student CSV import (columns: email,role - first row is a header).
+ * An upload is stored under app.import.dir and becomes a StudentImportJob; a small worker pool
+ * streams it with commons-csv in chunks. Each chunk is validated in parallel on a shared
+ * fork-join pool (order preserved) and de-duplicated within the file by normalized email; then
+ * one IN query per chunk finds emails that already exist, the rest are inserted in Hibernate
+ * JDBC batches, and the job checkpoint advances in the same transaction. Jobs left
+ * QUEUED/RUNNING by a crash or restart are picked up again and resume after their last
+ * committed chunk.
+ */
+@Service
+@Slf4j
+public class StudentCsvImportService {
+
+    // Row-level messages kept per job; rowsFailed still counts every failure
+    private static final int MAX_STORED_ERRORS = 500;
+
+    // Below this many rows a chunk is validated inline - fork/join overhead isn't worth it
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final StudentRepository studentRepository;
+    private final StudentImportJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final ForkJoinPool validationPool;
+
+    // Own thread rather than @Scheduled: the shared scheduler is single-threaded, and a long task
+    // there would delay heartbeats until other instances take over jobs that are still running
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-import-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Jobs queued or running on this instance - heartbeated so other instances leave them alone
+    private final Set<String> localJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.dir:./uploads/imports}")
+    private String importDir;
+
+    @Value("${app.import.stale-after-seconds:120}")
+    private long staleAfterSeconds;
+
+    public StudentCsvImportService(StudentRepository studentRepository,
+                                   StudentImportJobRepository jobRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.import.workers:2}") int workers,
+                                   @Value("${app.import.validation-threads:0}") int validationThreads) {
+        this.studentRepository = studentRepository;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "student-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.validationPool = new ForkJoinPool(Math.max(1, validationThreads > 0
+                ? validationThreads
+                : Runtime.getRuntime().availableProcessors()));
+    }
+
+    @PostConstruct
+    void startHeartbeat() {
+        long intervalSeconds = Math.max(1, staleAfterSeconds / 4);
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING and resume from their checkpoint on the next start
+        heartbeatExecutor.shutdownNow();
+        executor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    /**
+     * Store the upload, create a QUEUED job and hand it to the worker pool. Returns immediately.
+     */
+    public StudentImportJob startImport(MultipartFile file, String uploadedBy) throws IOException {
+        String jobId = "import-" + UUID.randomUUID();
+
+        Path dir = Paths.get(importDir).toAbsolutePath().normalize();
+        Files.createDirectories(dir);
+        Path stored = dir.resolve(jobId + ".csv");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, stored, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        StudentImportJob job = new StudentImportJob();
+        job.setJobId(jobId);
+        job.setUploadedBy(uploadedBy);
+        job.setOriginalFilename(file.getOriginalFilename());
+        job.setFilePath(stored.toString());
+        job.setStatus(StudentImportJob.Status.QUEUED);
+        jobRepository.save(job);
+
+        log.info("CSV import job {} queued by {} ({} bytes)", jobId, uploadedBy, file.getSize());
+        submit(jobId);
+        return job;
+    }
+
+    public Optional<StudentImportJob> getJob(String jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * Progress snapshot for the polling endpoint
+     */
+    public Map<String, Object> toStatus(StudentImportJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("jobId", job.getJobId());
+        status.put("status", job.getStatus());
+        status.put("uploadedBy", job.getUploadedBy());
+        status.put("fileName", job.getOriginalFilename());
+        status.put("rowsProcessed", job.getRowsProcessed());
+        status.put("rowsSucceeded", job.getRowsSucceeded());
+        status.put("rowsFailed", job.getRowsFailed());
+        status.put("message", job.getMessage());
+        status.put("createdAt", job.getCreatedAt());
+        status.put("startedAt", job.getStartedAt());
+        status.put("finishedAt", job.getFinishedAt());
+
+        double rowsPerSecond = 0;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            rowsPerSecond = Math.round(job.getRowsProcessed() * 10000.0 / millis) / 10.0;
+        }
+        status.put("rowsPerSecond", rowsPerSecond);
+
+        List<String> errors = job.getErrors() == null || job.getErrors().isEmpty()
+                ? List.of()
+                : Arrays.asList(job.getErrors().split("\n"));
+        status.put("errors", errors);
+        return status;
+    }
+
+    /**
+     * Keep this instance's queued and running jobs fresh. Running jobs also bump the heartbeat with
+     * every checkpoint, but queued ones have nothing else to keep them from looking abandoned.
+     */
+    private void heartbeat() {
+        if (localJobs.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.heartbeat(Set.copyOf(localJobs), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("CSV import heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pick up jobs whose owner stopped heartbeating. Uploads are stored on the receiving instance's
+     * disk, so only jobs whose file is readable here can be resumed; the rest are left for the
+     * instance that has the file.
+     */
+    @Scheduled(fixedDelayString = "${app.import.recovery-interval-ms:60000}", initialDelay = 10000)
+    public void recoverStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusSeconds(staleAfterSeconds);
+        for (StudentImportJob stale : jobRepository.findStaleJobs(staleBefore)) {
+            String jobId = stale.getJobId();
+            if (localJobs.contains(jobId)) {
+                continue;
+            }
+            if (stale.getFilePath() == null || !Files.isReadable(Paths.get(stale.getFilePath()))) {
+                log.debug("Stale CSV import job {} left alone - {} is not on this instance", jobId, stale.getFilePath());
+                continue;
+            }
+            Integer claimed = transactionTemplate.execute(status -> jobRepository.claimStale(jobId, staleBefore, now));
+            if (claimed != null && claimed == 1) {
+                log.info("Resuming interrupted CSV import job {}", jobId);
+                submit(jobId);
+            }
+        }
+    }
+
+    private void submit(String jobId) {
+        if (!localJobs.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    localJobs.remove(jobId);
+                }
+            });
+        } catch (RuntimeException e) {
+            localJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    void runJob(String jobId) {
+        StudentImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jobRepository.markRunning(jobId, LocalDateTime.now()));
+        long checkpoint = job.getLastRecordNumber();
+        if (checkpoint > 0) {
+            log.info("CSV import job {} resuming after record {}", jobId, checkpoint);
+        }
+
+        ChunkState state = new ChunkState(job.getRowsFailed());
+        List<RawRow> pending = new ArrayList<>(chunkSize);
+        long lastRecord = checkpoint;
+
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setIgnoreEmptyLines(true)
+                .setIgnoreSurroundingSpaces(true)
+                .build();
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(job.getFilePath()), StandardCharsets.UTF_8);
+             CSVParser parser = format.parse(reader)) {
+
+            for (CSVRecord record : parser) {
+                lastRecord = record.getRecordNumber();
+                // Record 1 is the header; anything up to the checkpoint is already committed
+                if (lastRecord == 1 || lastRecord <= checkpoint) {
+                    continue;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("CSV import job {} interrupted at record {}", jobId, lastRecord);
+                    return;
+                }
+
+                // Parsing is sequential; validation of the buffered chunk runs in parallel
+                pending.add(new RawRow(parser.getCurrentLineNumber(),
+                        record.size() > 0 ? record.get(0) : null,
+                        record.size() > 1 ? record.get(1) : null));
+
+                if (pending.size() >= chunkSize) {
+                    validate(pending, state);
+                    pending.clear();
+                    commitChunk(jobId, state, lastRecord);
+                }
+            }
+
+            validate(pending, state);
+            commitChunk(jobId, state, lastRecord);
+
+            StudentImportJob done = jobRepository.findById(jobId).orElse(job);
+            String message = lastRecord == 0
+                    ? "CSV file is empty"
+                    : "CSV upload completed: " + done.getRowsSucceeded() + " of " + done.getRowsProcessed() + " rows imported";
+            StudentImportJob.Status finalStatus = lastRecord == 0
+                    ? StudentImportJob.Status.FAILED
+                    : StudentImportJob.Status.COMPLETED;
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.finish(jobId, finalStatus, message, LocalDateTime.now()));
+            log.info("CSV import job {} finished: {}", jobId, message);
+
+            deleteQuietly(job.getFilePath());
+
+        } catch (IOException | RuntimeException e) {
+            log.error("CSV import job {} failed", jobId, e);
+            String message = "Error processing CSV file: " + e.getMessage();
+            transactionTemplate.executeWithoutResult(status -> jobRepository.finish(jobId,
+                    StudentImportJob.Status.FAILED,
+                    message.length() > 1000 ? message.substring(0, 1000) : message,
+                    LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Validate a chunk of rows on the validation pool. Results keep file order, so errors are
+     * merged line by line exactly as a sequential pass would produce them.
+     */
+    private void validate(List<RawRow> rows, ChunkState state) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<ValidatedRow> results = rows.size() < PARALLEL_THRESHOLD
+                ? rows.stream().map(StudentCsvImportService::validateRow).toList()
+                : validationPool.submit(() -> rows.parallelStream().map(StudentCsvImportService::validateRow).toList()).join();
+
+        // Sequential merge, in file order - the first occurrence of an email wins
+        for (ValidatedRow result : results) {
+            state.processed++;
+            if (result.error() != null) {
+                state.fail(result.error());
+            } else if (!state.seenEmails.add(StudentService.normalizeEmail(result.row().student().getEmail()))) {
+                state.fail("Line " + result.row().line() + ": Duplicate email in file - "
+                        + result.row().student().getEmail());
+            } else {
+                state.rows.add(result.row());
+            }
+        }
+    }
+
+    private static ValidatedRow validateRow(RawRow raw) {
+        if (raw.email() == null || raw.role() == null) {
+            return ValidatedRow.error("Line " + raw.line() + ": Invalid format - expected email,role");
+        }
+
+        String email = raw.email().trim();
+        String role = raw.role().trim().toUpperCase();
+
+        // Validate email format
+        if (!StudentService.isValidEmail(email)) {
+            return ValidatedRow.error("Line " + raw.line() + ": Invalid email format - " + email);
+        }
+
+        // Validate role (must be ZSGS or PMIS)
+        if (!StudentService.isValidStudentRole(role)) {
+            return ValidatedRow.error("Line " + raw.line() + ": Invalid role - " + role + ". Must be ZSGS or PMIS");
+        }
+
+        return new ValidatedRow(new CsvRow(raw.line(), new StudentCsvRowDto(email, role)), null);
+    }
+
+    /**
+     * Drop rows whose email already exists (one IN query), batch-insert the rest and advance the
+     * job checkpoint in one transaction. If the batch fails it is retried row by row, so only the
+     * rows that really can't be saved are recorded as failed.
+     */
+    private void commitChunk(String jobId, ChunkState state, long lastRecord) {
+        List<CsvRow> toInsert = withoutExisting(state.rows, state);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insertStudents(toInsert);
+                jobRepository.recordChunk(jobId, lastRecord, state.processed, toInsert.size(), state.failed,
+                        state.errorText(), LocalDateTime.now());
+            });
+            log.debug("CSV import job {}: committed chunk up to record {} ({} inserted)", jobId, lastRecord, toInsert.size());
+
+        } catch (DataAccessException e) {
+            // Rolled back - e.g. an email inserted concurrently since the IN check. Check again and
+            // save the remaining rows one at a time; each row is its own transaction, so a crash
+            // before the checkpoint below just reports the saved ones as existing on resume.
+            log.warn("CSV import job {}: batch insert up to record {} failed, retrying row by row: {}",
+                    jobId, lastRecord, e.getMostSpecificCause().getMessage());
+            int succeeded = insertOneByOne(withoutExisting(toInsert, state), state);
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.recordChunk(jobId, lastRecord, state.processed, succeeded, state.failed,
+                            state.errorText(), LocalDateTime.now()));
+            log.debug("CSV import job {}: committed chunk up to record {} ({} inserted row by row)", jobId, lastRecord, succeeded);
+        }
+
+        state.reset();
+    }
+
+    /**
+     * Rows whose email isn't in the database yet; the others are recorded as failed
+     */
+    private List<CsvRow> withoutExisting(List<CsvRow> rows, ChunkState state) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<String> emails = new HashSet<>();
+        rows.forEach(row -> emails.add(row.student().getEmail()));
+        // The unique index is case-insensitive, so compare normalized forms
+        Set<String> existing = new HashSet<>();
+        studentRepository.findExistingEmails(emails).forEach(email -> existing.add(StudentService.normalizeEmail(email)));
+
+        List<CsvRow> remaining = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            if (existing.contains(StudentService.normalizeEmail(row.student().getEmail()))) {
+                state.fail("Line " + row.line() + ": Student with email " + row.student().getEmail() + " already exists");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private int insertOneByOne(List<CsvRow> rows, ChunkState state) {
+        int succeeded = 0;
+        for (CsvRow row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertStudents(List.of(row)));
+                succeeded++;
+            } catch (DataAccessException e) {
+                log.error("CSV import: failed to save student on line {}", row.line(), e);
+                state.fail("Line " + row.line() + ": Failed to save student " + row.student().getEmail() + " - "
+                        + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return succeeded;
+    }
+
+    private void insertStudents(List<CsvRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Student> students = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            Student student = new Student();
+            student.setEmail(row.student().getEmail());
+            student.setRole(Student.StudentRole.valueOf(row.student().getRole()));
+            student.setStatus(Student.StudentStatus.ACTIVE);
+            // No auditing listener on Student, and both columns are NOT NULL
+            student.setCreatedAt(now);
+            student.setUpdatedAt(now);
+            students.add(student);
+        }
+        // Ids come from the pooled generator, so Hibernate sends these as JDBC batches
+        studentRepository.saveAll(students);
+        studentRepository.flush();
+    }
+
+    private void deleteQuietly(String path) {
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private record RawRow(long line, String email, String role) {
+    }
+
+    private record CsvRow(long line, StudentCsvRowDto student) {
+    }
+
+    private record ValidatedRow(CsvRow row, String error) {
+        static ValidatedRow error(String error) {
+            return new ValidatedRow(null, error);
+        }
+    }
+
+    /**
+     * Rows and counters of the chunk being built; reset after each checkpoint
+     */
+    private static final class ChunkState {
+        private final List<CsvRow> rows = new ArrayList<>();
+        // Normalized emails accepted so far in this run - survives reset(). Rows before a resume
+        // checkpoint are already in the database and are caught by the existence check instead.
+        private final Set<String> seenEmails = new HashSet<>();
+        private final StringBuilder errors = new StringBuilder();
+        private int storedErrors;
+        private int processed;
+        private int failed;
+
+        ChunkState(int alreadyFailed) {
+            this.storedErrors = alreadyFailed;
+        }
+
+        void fail(String error) {
+            failed++;
+            if (storedErrors < MAX_STORED_ERRORS) {
+                errors.append(error).append('\n');
+                storedErrors++;
+            }
+        }
+
+        String errorText() {
+            return errors.toString();
+        }
+
+        void reset() {
+            rows.clear();
+            errors.setLength(0);
+            processed = 0;
+            failed = 0;
+        }
+    }
+}
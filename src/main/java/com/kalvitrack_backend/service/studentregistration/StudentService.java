@@ -4,25 +4,26 @@ import com.kalvitrack_backend.config.jwthandler.JwtUtil;
 import com.kalvitrack_backend.dto.AdminLoginRequest;
 import com.kalvitrack_backend.dto.AdminLoginResponse;
 import com.kalvitrack_backend.dto.csvuploadfeature.CsvUploadResponseDto;
-import com.kalvitrack_backend.dto.csvuploadfeature.StudentCsvRowDto;
 import com.kalvitrack_backend.dto.emailverifyfeature.EmailVerificationResponseDto;
 import com.kalvitrack_backend.dto.registration.StudentRegistrationDto;
 import com.kalvitrack_backend.dto.studentspiresponse.ApiResponseDto;
 import com.kalvitrack_backend.entity.Student;
+import com.kalvitrack_backend.entity.StudentImportJob;
 import com.kalvitrack_backend.repository.StudentRepository;
+import com.kalvitrack_backend.service.resume.ResumeSavedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,8 +31,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StudentService {
 
+    // Compiled once - shared by manual creation and CSV import validation
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private static final Map<String, Student.StudentRole> ROLES_BY_NAME = Arrays.stream(Student.StudentRole.values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name, role -> role));
+
     private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StudentCsvImportService studentCsvImportService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -150,99 +159,14 @@ public class StudentService {
         }
     }
 
-    @Transactional
+    /**
+     * Queue a CSV upload as a background import job - see StudentCsvImportService.
+     * The returned batchId is the job id for GET /api/students/import-jobs/{id}.
+     */
     public CsvUploadResponseDto uploadStudentsFromCsv(MultipartFile file, String uploadedBy) {
-        List<String> errors = new ArrayList<>();
-        List<StudentCsvRowDto> validStudents = new ArrayList<>();
-
         try {
-            log.info("Starting CSV upload process by: {}", uploadedBy);
-
-            // Parse CSV file
-            BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-            List<String> lines = reader.lines().collect(Collectors.toList());
-            reader.close();
-
-            if (lines.isEmpty()) {
-                return CsvUploadResponseDto.failure("CSV file is empty", List.of("No data found in file"));
-            }
-
-            log.info("Processing {} lines from CSV", lines.size());
-
-            // Skip header row and process each line
-            for (int i = 1; i < lines.size(); i++) {
-                String line = lines.get(i).trim();
-                if (line.isEmpty()) continue;
-
-                String[] parts = line.split(",");
-                if (parts.length < 2) {
-                    errors.add("Line " + (i + 1) + ": Invalid format - expected email,role");
-                    continue;
-                }
-
-                String email = parts[0].trim();
-                String role = parts[1].trim().toUpperCase();
-
-                // Validate email format
-                if (!isValidEmail(email)) {
-                    errors.add("Line " + (i + 1) + ": Invalid email format - " + email);
-                    continue;
-                }
-
-                // Validate role (must be ZSGS or PMIS)
-                if (!isValidStudentRole(role)) {
-                    errors.add("Line " + (i + 1) + ": Invalid role - " + role + ". Must be ZSGS or PMIS");
-                    continue;
-                }
-
-                // Check if student already exists
-                if (studentRepository.existsByEmail(email)) {
-                    errors.add("Line " + (i + 1) + ": Student with email " + email + " already exists");
-                    continue;
-                }
-
-                validStudents.add(new StudentCsvRowDto(email, role));
-            }
-
-            log.info("Found {} valid students to upload", validStudents.size());
-
-            // Save valid students to database
-            int successCount = 0;
-            String batchId = "batch-" + System.currentTimeMillis();
-
-            for (StudentCsvRowDto studentDto : validStudents) {
-                try {
-                    Student student = new Student();
-                    student.setEmail(studentDto.getEmail());
-                    student.setRole(Student.StudentRole.valueOf(studentDto.getRole()));
-                    student.setStatus(Student.StudentStatus.ACTIVE);
-                    student.setEmailVerified(false);
-                    student.setFailedLoginAttempts(0);
-                    student.setCreatedAt(LocalDateTime.now());
-                    student.setUpdatedAt(LocalDateTime.now());
-
-                    Student savedStudent = studentRepository.save(student);
-                    log.debug("Saved student: {} with ID: {}", savedStudent.getEmail(), savedStudent.getId());
-                    successCount++;
-
-                } catch (Exception e) {
-                    log.error("Error saving student: {}", studentDto.getEmail(), e);
-                    errors.add("Failed to save student: " + studentDto.getEmail() + " - " + e.getMessage());
-                }
-            }
-
-            log.info("Successfully uploaded {} out of {} students", successCount, validStudents.size());
-
-            if (successCount > 0) {
-                CsvUploadResponseDto response = CsvUploadResponseDto.success(batchId, validStudents.size(), successCount);
-                if (!errors.isEmpty()) {
-                    response.setErrors(errors);
-                }
-                return response;
-            } else {
-                return CsvUploadResponseDto.failure("No students were uploaded", errors);
-            }
-
+            StudentImportJob job = studentCsvImportService.startImport(file, uploadedBy);
+            return CsvUploadResponseDto.accepted(job.getJobId());
         } catch (Exception e) {
             log.error("Error processing CSV file", e);
             return CsvUploadResponseDto.failure("Error processing CSV file: " + e.getMessage(),
@@ -321,6 +245,11 @@ public class StudentService {
             // Save to database
             Student savedStudent = studentRepository.save(student);
 
+            if (savedStudent.getResumePath() != null) {
+                // Indexed for search after commit, off the request thread
+                eventPublisher.publishEvent(new ResumeSavedEvent(savedStudent.getId(), savedStudent.getResumePath()));
+            }
+
             log.info("=== REGISTRATION SAVED SUCCESSFULLY ===");
             log.info("Saved student ID: {}", savedStudent.getId());
             log.info("Registration completed successfully for student: {} with role: {}",
@@ -416,18 +345,27 @@ public class StudentService {
         }
     }
 
-    private boolean isValidEmail(String email) {
+    static boolean isValidEmail(String email) {
         return email != null &&
-                email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$") &&
-                email.length() <= 255;
+                email.length() <= 255 &&
+                EMAIL_PATTERN.matcher(email).matches();
     }
 
-    private boolean isValidStudentRole(String role) {
-        try {
-            Student.StudentRole.valueOf(role.toUpperCase());
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+    /**
+     * Comparison key for emails - MySQL's unique index on students.email is case-insensitive
+     */
+    static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static boolean isValidStudentRole(String role) {
+        return parseStudentRole(role) != null;
+    }
+
+    /**
+     * Role by name (case-insensitive), or null - no exception on the hot path
+     */
+    static Student.StudentRole parseStudentRole(String role) {
+        return role == null ? null : ROLES_BY_NAME.get(role.toUpperCase());
     }
 }
\ No newline at end of file
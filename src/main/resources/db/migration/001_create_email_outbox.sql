@@ -0,0 +1,17 @@
+-- Transactional outbox for notification emails (spring.jpa.hibernate.ddl-auto=none - apply manually)
+CREATE TABLE IF NOT EXISTS email_outbox (
+    outbox_id       BIGINT        NOT NULL AUTO_INCREMENT,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(500)  NOT NULL,
+    body            MEDIUMTEXT    NOT NULL,
+    is_html         BOOLEAN       NOT NULL DEFAULT FALSE,
+    status          ENUM('PENDING', 'SENDING', 'SENT', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts        INT           NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    last_error      VARCHAR(1000) NULL,
+    sent_at         DATETIME(6)   NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    PRIMARY KEY (outbox_id),
+    -- Serves the dispatcher's "due rows" scan
+    INDEX idx_email_outbox_due (status, next_attempt_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- Supports the keyset-paginated interview listing (ORDER BY interview_date DESC, start_time DESC, session_id DESC)
+CREATE INDEX idx_interview_sessions_listing
+    ON interview_sessions (is_active, interview_date, start_time, session_id);
@@ -0,0 +1,21 @@
+-- Background student CSV import jobs with resumable checkpoints (apply manually, ddl-auto=none)
+CREATE TABLE IF NOT EXISTS student_import_jobs (
+    job_id             VARCHAR(64)   NOT NULL,
+    uploaded_by        VARCHAR(255)  NOT NULL,
+    original_filename  VARCHAR(255)  NULL,
+    file_path          VARCHAR(500)  NOT NULL,
+    status             ENUM('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'QUEUED',
+    last_record_number BIGINT        NOT NULL DEFAULT 0,
+    rows_processed     INT           NOT NULL DEFAULT 0,
+    rows_succeeded     INT           NOT NULL DEFAULT 0,
+    rows_failed        INT           NOT NULL DEFAULT 0,
+    errors             MEDIUMTEXT    NULL,
+    message            VARCHAR(1000) NULL,
+    created_at         DATETIME(6)   NOT NULL,
+    started_at         DATETIME(6)   NULL,
+    finished_at        DATETIME(6)   NULL,
+    updated_at         DATETIME(6)   NOT NULL,
+    PRIMARY KEY (job_id),
+    -- Serves the stale-job recovery scan
+    INDEX idx_student_import_jobs_status (status, updated_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,4 @@
+-- Serves the per-interviewer, per-day overlap check (start_time < :end AND end_time > :start)
+-- as an index-only range scan, and the conflict index's day load
+CREATE INDEX idx_interview_sessions_interviewer_day
+    ON interview_sessions (interviewer_id, interview_date, start_time, end_time, is_active, session_status);
@@ -0,0 +1,6 @@
+-- Optimistic locking for concurrent scheduling (@Version on InterviewerAvailability and InterviewSession)
+ALTER TABLE interviewer_availability
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE interview_sessions
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
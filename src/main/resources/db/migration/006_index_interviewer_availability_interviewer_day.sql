@@ -0,0 +1,4 @@
+-- Serves the per-interviewer, per-day loads of free and claimed rows used when booking, cancelling
+-- and compacting availability, and the compaction job's self-join on touching free rows
+CREATE INDEX idx_interviewer_availability_interviewer_day
+    ON interviewer_availability (interviewer_id, available_date, is_active, is_booked, start_time, end_time);
@@ -0,0 +1,25 @@
+-- Pooled table ID generators (@PooledTableId, allocationSize 50) for the high-volume entities.
+-- Must be applied before deploying code that maps them: IdBlockAllocator refuses to start without it.
+-- next_val is the upper end of the next block handed out, so seeding it with
+-- MAX(id) + 51 makes the first new id MAX(id) + 2: existing ids stay as they are.
+-- The AUTO_INCREMENT columns are left in place; MySQL moves their counter past explicitly
+-- inserted ids, so code that still relies on them keeps working.
+CREATE TABLE id_generators (
+    entity_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'students', COALESCE(MAX(student_id), 0) + 51 FROM students;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'user_roles', COALESCE(MAX(user_id), 0) + 51 FROM user_roles;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'interview_sessions', COALESCE(MAX(session_id), 0) + 51 FROM interview_sessions;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'interviewers', COALESCE(MAX(interviewer_id), 0) + 51 FROM interviewers;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'interviewer_availability', COALESCE(MAX(availability_id), 0) + 51 FROM interviewer_availability;
@@ -0,0 +1,58 @@
+package com.kalvitrack_backend.config.jwthandler;
+
+import org.junit.jupiter.api.Test;
+
+import static com.kalvitrack_backend.config.jwthandler.RouteMatcher.RouteType.EXCLUDED;
+import static com.kalvitrack_backend.config.jwthandler.RouteMatcher.RouteType.PROTECTED;
+import static com.kalvitrack_backend.config.jwthandler.RouteMatcher.RouteType.PUBLIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteMatcherTest {
+
+    private final RouteMatcher matcher = new RouteMatcher();
+
+    @Test
+    void publicPathsMatchExactly() {
+        assertEquals(PUBLIC, matcher.classify("/api/auth/login"));
+        assertEquals(PUBLIC, matcher.classify("/health"));
+        assertEquals(PUBLIC, matcher.classify("/api/students/verify-email"));
+    }
+
+    @Test
+    void queryAndFragmentAreIgnored() {
+        assertEquals(PUBLIC, matcher.classify("/api/auth/login?redirect=/dashboard"));
+        assertEquals(PUBLIC, matcher.classify("/api/auth/reset-password#token"));
+        assertEquals(EXCLUDED, matcher.classify("/static?v=3"));
+    }
+
+    @Test
+    void excludedPathsMatchThemselvesAndSubPaths() {
+        assertEquals(EXCLUDED, matcher.classify("/api/auth/admin/login"));
+        assertEquals(EXCLUDED, matcher.classify("/actuator"));
+        assertEquals(EXCLUDED, matcher.classify("/actuator/health"));
+        assertEquals(EXCLUDED, matcher.classify("/static/"));
+        assertEquals(EXCLUDED, matcher.classify("/static/js/app.js"));
+        assertEquals(EXCLUDED, matcher.classify("/api/auth/login/extra"));
+        assertEquals(EXCLUDED, matcher.classify("/favicon.ico"));
+    }
+
+    @Test
+    void prefixMatchStopsAtSegmentBoundary() {
+        assertEquals(PROTECTED, matcher.classify("/staticfoo"));
+        assertEquals(PROTECTED, matcher.classify("/actuatorx/env"));
+        assertEquals(PROTECTED, matcher.classify("/api/auth/log"));
+    }
+
+    @Test
+    void everythingElseIsProtected() {
+        assertEquals(PROTECTED, matcher.classify("/api/students"));
+        assertEquals(PROTECTED, matcher.classify("/api/interviews/12/reschedule"));
+        assertEquals(PROTECTED, matcher.classify("/"));
+        assertEquals(PROTECTED, matcher.classify(""));
+        assertEquals(PROTECTED, matcher.classify(null));
+        assertTrue(matcher.isProtected("/api/admin/users"));
+        assertFalse(matcher.isProtected("/swagger-ui/index.html"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.kalvitrack_backend.dto.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterviewListCursorTest {
+
+    @Test
+    void roundTrip() {
+        InterviewListCursor cursor = new InterviewListCursor(LocalDate.of(2025, 3, 14), LocalTime.of(9, 30), 4217L);
+
+        InterviewListCursor decoded = InterviewListCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getInterviewDate(), decoded.getInterviewDate());
+        assertEquals(cursor.getStartTime(), decoded.getStartTime());
+        assertEquals(cursor.getSessionId(), decoded.getSessionId());
+    }
+
+    @Test
+    void roundTripKeepsSeconds() {
+        InterviewListCursor cursor = new InterviewListCursor(LocalDate.of(2025, 12, 31), LocalTime.of(23, 59, 59), 1L);
+
+        assertEquals(LocalTime.of(23, 59, 59), InterviewListCursor.decode(cursor.encode()).getStartTime());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        // Enough ids to hit the bytes that standard Base64 would turn into '+' or '/'
+        for (long sessionId = 1; sessionId < 2000; sessionId++) {
+            String token = new InterviewListCursor(LocalDate.of(2025, 1, 1), LocalTime.of(8, 0), sessionId).encode();
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        }
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertInvalid("not base64 at all!");
+        assertInvalid(encode("2025-03-14|09:30"));
+        assertInvalid(encode("2025-03-14|09:30|12|extra"));
+        assertInvalid(encode("2025-13-14|09:30|12"));
+        assertInvalid(encode("2025-03-14|9.30|12"));
+        assertInvalid(encode("2025-03-14|09:30|twelve"));
+    }
+
+    private static void assertInvalid(String token) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> InterviewListCursor.decode(token));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,195 @@
+package com.kalvitrack_backend.service.availability;
+
+import com.kalvitrack_backend.entity.InterviewSession;
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import com.kalvitrack_backend.repository.InterviewSessionRepository;
+import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
+import com.kalvitrack_backend.service.availability.AvailabilityCalendar.TimeRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Book/release round trips through the bitset projection, against repositories backed by an
+ * in-memory row list. Claims are simulated by flagging the row booked, as claimSlot does.
+ */
+class AvailabilityCalendarTest {
+
+    private static final Long INTERVIEWER = 7L;
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 2);
+
+    private final List<InterviewerAvailability> rows = new ArrayList<>();
+    private final List<InterviewSession> sessions = new ArrayList<>();
+    private long nextId = 1;
+
+    private AvailabilityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        InterviewerAvailabilityRepository availabilityRepository = mock(InterviewerAvailabilityRepository.class);
+        InterviewSessionRepository sessionRepository = mock(InterviewSessionRepository.class);
+
+        when(availabilityRepository.findByInterviewerIdAndAvailableDateAndIsActive(anyLong(), any(), eq(true)))
+                .thenAnswer(invocation -> rows.stream().filter(row -> row.getIsActive()).toList());
+        when(availabilityRepository.findByInterviewerIdAndAvailableDateAndIsBooked(anyLong(), any(), eq(true)))
+                .thenAnswer(invocation -> rows.stream().filter(row -> row.getIsBooked()).toList());
+        when(availabilityRepository.save(any())).thenAnswer(invocation -> store(invocation.getArgument(0)));
+        when(availabilityRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<InterviewerAvailability> saved = new ArrayList<>();
+            for (InterviewerAvailability row : invocation.<Iterable<InterviewerAvailability>>getArgument(0)) {
+                saved.add(store(row));
+            }
+            return saved;
+        });
+        doAnswer(invocation -> {
+            invocation.<Iterable<InterviewerAvailability>>getArgument(0).forEach(rows::remove);
+            return null;
+        }).when(availabilityRepository).deleteAll(anyIterable());
+        when(sessionRepository.findBookedSessionsForDay(anyLong(), any())).thenAnswer(invocation -> List.copyOf(sessions));
+
+        calendar = new AvailabilityCalendar(availabilityRepository, sessionRepository, mock(AvailableSlotGrid.class));
+    }
+
+    @Test
+    void bookSplitsBlockAndReleaseMergesItBack() {
+        InterviewerAvailability block = claim(freeRow("09:00", "12:00"));
+
+        calendar.book(block, List.of(range("10:00", "11:00")));
+        assertFree("09:00-10:00", "11:00-12:00");
+        assertEquals(1, bookedRows().size());
+
+        // Session cancelled: the hour comes back, the three pieces merge and the claim goes
+        calendar.release(INTERVIEWER, DAY, time("10:00"), time("11:00"));
+        assertFree("09:00-12:00");
+        assertTrue(bookedRows().isEmpty());
+    }
+
+    @Test
+    void bookMergesLeftoverWithAdjacentFreeTime() {
+        freeRow("12:00", "13:00");
+        InterviewerAvailability block = claim(freeRow("09:00", "12:00"));
+
+        calendar.book(block, List.of(range("09:00", "10:00")));
+
+        assertFree("10:00-13:00");
+    }
+
+    @Test
+    void releaseKeepsTimeOfSessionsStillLive() {
+        InterviewerAvailability block = claim(freeRow("09:00", "12:00"));
+        calendar.book(block, List.of(range("09:30", "10:00"), range("10:30", "11:00")));
+        assertFree("09:00-09:30", "10:00-10:30", "11:00-12:00");
+        session("10:30", "11:00");
+
+        calendar.release(INTERVIEWER, DAY, time("09:30"), time("10:00"));
+
+        assertFree("09:00-10:30", "11:00-12:00");
+        // The claim still backs the 10:30 session
+        assertEquals(1, bookedRows().size());
+    }
+
+    @Test
+    void releaseUpToMidnight() {
+        InterviewerAvailability block = claim(freeRow("22:00", "00:00"));
+        calendar.book(block, List.of(range("23:00", "00:00")));
+        assertFree("22:00-23:00");
+
+        calendar.release(INTERVIEWER, DAY, time("23:00"), LocalTime.MIDNIGHT);
+
+        assertFree("22:00-00:00");
+    }
+
+    @Test
+    void offGridBlockKeepsLeftoverPiecesAsTheyAre() {
+        InterviewerAvailability block = claim(freeRow("09:00", "10:07"));
+
+        calendar.book(block, List.of(range("09:00", "09:30")));
+
+        assertFree("09:30-10:07");
+    }
+
+    @Test
+    void bookKeepsIdOfRowTheRunGrewOutOf() {
+        InterviewerAvailability earlier = freeRow("08:00", "09:00");
+        InterviewerAvailability block = claim(freeRow("09:00", "12:00"));
+
+        calendar.book(block, List.of(range("11:00", "12:00")));
+
+        assertFree("08:00-11:00");
+        assertEquals(earlier.getAvailabilityId(), freeRows().get(0).getAvailabilityId());
+    }
+
+    private InterviewerAvailability freeRow(String start, String end) {
+        InterviewerAvailability row = new InterviewerAvailability();
+        row.setInterviewerId(INTERVIEWER);
+        row.setAvailableDate(DAY);
+        row.setStartTime(time(start));
+        row.setEndTime(time(end));
+        row.setIsBooked(false);
+        row.setIsActive(true);
+        return store(row);
+    }
+
+    private static InterviewerAvailability claim(InterviewerAvailability row) {
+        row.setIsBooked(true);
+        return row;
+    }
+
+    private void session(String start, String end) {
+        InterviewSession session = new InterviewSession();
+        session.setInterviewerId(INTERVIEWER);
+        session.setInterviewDate(DAY);
+        session.setStartTime(time(start));
+        session.setEndTime(time(end));
+        sessions.add(session);
+    }
+
+    private InterviewerAvailability store(InterviewerAvailability row) {
+        if (row.getAvailabilityId() == null) {
+            row.setAvailabilityId(nextId++);
+        }
+        if (!rows.contains(row)) {
+            rows.add(row);
+        }
+        return row;
+    }
+
+    private List<InterviewerAvailability> freeRows() {
+        return rows.stream()
+                .filter(row -> row.getIsActive() && !row.getIsBooked())
+                .sorted(Comparator.comparing(InterviewerAvailability::getStartTime))
+                .toList();
+    }
+
+    private List<InterviewerAvailability> bookedRows() {
+        return rows.stream().filter(InterviewerAvailability::getIsBooked).toList();
+    }
+
+    private void assertFree(String... expected) {
+        List<String> actual = freeRows().stream().map(row -> row.getStartTime() + "-" + row.getEndTime()).toList();
+        assertEquals(List.of(expected), actual);
+    }
+
+    private static TimeRange range(String start, String end) {
+        return new TimeRange(time(start), time(end));
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+}
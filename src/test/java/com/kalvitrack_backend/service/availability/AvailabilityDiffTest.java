@@ -0,0 +1,116 @@
+package com.kalvitrack_backend.service.availability;
+
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityDiffTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private long nextId = 1;
+
+    @Test
+    void identicalBlocksAreLeftAlone() {
+        InterviewerAvailability stored = stored(MONDAY, "09:00", "12:00");
+        InterviewerAvailabilityService.AvailabilityDiff diff = new InterviewerAvailabilityService.AvailabilityDiff();
+
+        diff.compare(List.of(wanted(MONDAY, "09:00", "12:00")), List.of(stored));
+
+        assertEquals(List.of(stored), diff.unchanged);
+        assertTrue(diff.inserts.isEmpty());
+        assertTrue(diff.updates.isEmpty());
+        assertTrue(diff.deletes.isEmpty());
+        assertTrue(diff.changedDates().isEmpty());
+    }
+
+    @Test
+    void changedDetailsUpdateTheSameRow() {
+        InterviewerAvailability stored = stored(MONDAY, "09:00", "12:00");
+        InterviewerAvailability wanted = wanted(MONDAY, "09:00", "12:00");
+        wanted.setNotes("Room 4");
+        wanted.setSlotDurationMinutes(45);
+        InterviewerAvailabilityService.AvailabilityDiff diff = new InterviewerAvailabilityService.AvailabilityDiff();
+
+        diff.compare(List.of(wanted), List.of(stored));
+
+        assertEquals(List.of(stored), diff.updates);
+        assertEquals("Room 4", stored.getNotes());
+        assertEquals(45, stored.getSlotDurationMinutes());
+        assertTrue(diff.inserts.isEmpty());
+    }
+
+    @Test
+    void movedBlockReusesTheRowItOverlaps() {
+        InterviewerAvailability morning = stored(MONDAY, "09:00", "12:00");
+        InterviewerAvailability afternoon = stored(MONDAY, "14:00", "17:00");
+        InterviewerAvailabilityService.AvailabilityDiff diff = new InterviewerAvailabilityService.AvailabilityDiff();
+
+        diff.compare(List.of(wanted(MONDAY, "09:00", "12:00"), wanted(MONDAY, "15:00", "18:00")),
+                List.of(morning, afternoon));
+
+        assertEquals(List.of(morning), diff.unchanged);
+        assertEquals(1, diff.updates.size());
+        assertSame(afternoon, diff.updates.get(0));
+        assertEquals(LocalTime.of(15, 0), afternoon.getStartTime());
+        assertEquals(LocalTime.of(18, 0), afternoon.getEndTime());
+        assertTrue(diff.inserts.isEmpty());
+        assertTrue(diff.deletes.isEmpty());
+    }
+
+    @Test
+    void leftoverRowIsReusedBeforeInsertingAndDeleting() {
+        InterviewerAvailability stored = stored(MONDAY, "09:00", "10:00");
+        InterviewerAvailabilityService.AvailabilityDiff diff = new InterviewerAvailabilityService.AvailabilityDiff();
+
+        diff.compare(List.of(wanted(MONDAY, "16:00", "17:00")), List.of(stored));
+
+        assertEquals(List.of(stored), diff.updates);
+        assertEquals(LocalTime.of(16, 0), stored.getStartTime());
+        assertTrue(diff.inserts.isEmpty());
+        assertTrue(diff.deletes.isEmpty());
+    }
+
+    @Test
+    void extraBlocksAreInsertedAndMissingOnesDeleted() {
+        InterviewerAvailability kept = stored(MONDAY, "09:00", "10:00");
+        InterviewerAvailability dropped = stored(TUESDAY, "09:00", "10:00");
+        InterviewerAvailability added = wanted(MONDAY, "13:00", "14:00");
+        InterviewerAvailabilityService.AvailabilityDiff diff = new InterviewerAvailabilityService.AvailabilityDiff();
+
+        diff.compare(List.of(wanted(MONDAY, "09:00", "10:00"), added), List.of(kept));
+        diff.compare(List.of(), List.of(dropped));
+
+        assertEquals(List.of(kept), diff.unchanged);
+        assertEquals(List.of(added), diff.inserts);
+        assertEquals(List.of(dropped), diff.deletes);
+        assertEquals(Set.of(MONDAY, TUESDAY), diff.changedDates());
+    }
+
+    private InterviewerAvailability stored(LocalDate date, String start, String end) {
+        InterviewerAvailability row = wanted(date, start, end);
+        row.setAvailabilityId(nextId++);
+        return row;
+    }
+
+    private static InterviewerAvailability wanted(LocalDate date, String start, String end) {
+        InterviewerAvailability block = new InterviewerAvailability();
+        block.setInterviewerId(3L);
+        block.setAvailableDate(date);
+        block.setStartTime(LocalTime.parse(start));
+        block.setEndTime(LocalTime.parse(end));
+        block.setSlotDurationMinutes(60);
+        block.setIsBooked(false);
+        block.setIsActive(true);
+        return block;
+    }
+}
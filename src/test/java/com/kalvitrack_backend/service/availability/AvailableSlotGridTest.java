@@ -0,0 +1,137 @@
+package com.kalvitrack_backend.service.availability;
+
+import com.kalvitrack_backend.entity.Interviewer;
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import com.kalvitrack_backend.entity.User;
+import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
+import com.kalvitrack_backend.repository.InterviewerRepository;
+import com.kalvitrack_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dirty-mark handling of the slot grid: changes committed after a date was loaded, or while it was
+ * loading, must show up on the next request for that date.
+ */
+class AvailableSlotGridTest {
+
+    private static final Long INTERVIEWER = 7L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private final InterviewerAvailabilityRepository availabilityRepository = mock(InterviewerAvailabilityRepository.class);
+
+    private LocalTime blockEnd = LocalTime.of(10, 0);
+    private AvailableSlotGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        Interviewer interviewer = new Interviewer();
+        interviewer.setInterviewerId(INTERVIEWER);
+        interviewer.setUserId(3L);
+        User user = new User();
+        user.setUserId(3L);
+        user.setFullName("Asha Rao");
+        user.setEmail("asha@example.com");
+        user.setRole(User.Role.values()[0]);
+
+        InterviewerRepository interviewerRepository = mock(InterviewerRepository.class);
+        when(interviewerRepository.findAllById(anyIterable())).thenReturn(List.of(interviewer));
+        when(interviewerRepository.findById(INTERVIEWER)).thenReturn(Optional.of(interviewer));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+
+        when(availabilityRepository.findAvailableSlots(any(), any())).thenAnswer(invocation -> List.of(block()));
+        when(availabilityRepository.findByInterviewerIdAndAvailableDateAndIsActive(anyLong(), any(), eq(true)))
+                .thenAnswer(invocation -> List.of(block()));
+
+        grid = new AvailableSlotGrid(availabilityRepository, interviewerRepository, userRepository,
+                mock(ApplicationEventPublisher.class), 3600);
+    }
+
+    @Test
+    void changeAfterLoadIsRefreshedOnNextRequest() {
+        assertEquals(1, totalSlots());
+
+        blockEnd = LocalTime.of(12, 0);
+        assertEquals(1, totalSlots());
+
+        grid.onAvailabilityChanged(new AvailabilityChangedEvent(INTERVIEWER, DAY));
+        assertEquals(3, totalSlots());
+        // The mark is cleared by the refresh
+        assertEquals(3, totalSlots());
+        verify(availabilityRepository, times(1))
+                .findByInterviewerIdAndAvailableDateAndIsActive(INTERVIEWER, DAY, true);
+    }
+
+    @Test
+    void changeCommittedWhileLoadingIsKept() {
+        when(availabilityRepository.findAvailableSlots(any(), any())).thenAnswer(invocation -> {
+            List<InterviewerAvailability> read = List.of(block());
+            // Committed after the query read the old block, before the load finished
+            blockEnd = LocalTime.of(12, 0);
+            grid.onAvailabilityChanged(new AvailabilityChangedEvent(INTERVIEWER, DAY));
+            return read;
+        });
+
+        assertEquals(3, totalSlots());
+    }
+
+    @Test
+    void markOutsideRequestedRangeIsKept() {
+        LocalDate later = DAY.plusDays(1);
+        grid.getAvailableSlots(DAY, later, 60);
+
+        blockEnd = LocalTime.of(12, 0);
+        grid.onAvailabilityChanged(new AvailabilityChangedEvent(INTERVIEWER, later));
+        grid.getAvailableSlots(DAY, DAY, 60);
+        verify(availabilityRepository, times(0))
+                .findByInterviewerIdAndAvailableDateAndIsActive(anyLong(), any(), eq(true));
+
+        List<Map<String, Object>> slots = grid.getAvailableSlots(later, later, 60);
+        assertEquals(3, slots.get(0).get("totalSlots"));
+    }
+
+    @Test
+    void changeForUnloadedDateIsIgnored() {
+        grid.onAvailabilityChanged(new AvailabilityChangedEvent(INTERVIEWER, DAY));
+
+        assertEquals(1, totalSlots());
+        verify(availabilityRepository, times(0))
+                .findByInterviewerIdAndAvailableDateAndIsActive(anyLong(), any(), eq(true));
+    }
+
+    private int totalSlots() {
+        List<Map<String, Object>> slots = grid.getAvailableSlots(DAY, DAY, 60);
+        return (Integer) slots.get(0).get("totalSlots");
+    }
+
+    private InterviewerAvailability block() {
+        InterviewerAvailability block = new InterviewerAvailability();
+        block.setAvailabilityId(1L);
+        block.setInterviewerId(INTERVIEWER);
+        block.setAvailableDate(DAY);
+        block.setStartTime(LocalTime.of(9, 0));
+        block.setEndTime(blockEnd);
+        block.setIsBooked(false);
+        block.setIsActive(true);
+        return block;
+    }
+}
@@ -0,0 +1,193 @@
+package com.kalvitrack_backend.service.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayBitsetTest {
+
+    @Test
+    void runsAcrossWordBoundaries() {
+        DayBitset bitset = new DayBitset();
+        bitset.set(63, 65);
+        bitset.set(127, 129);
+        bitset.set(287, 288);
+
+        assertRuns(bitset, new int[]{63, 65}, new int[]{127, 129}, new int[]{287, 288});
+        assertTrue(bitset.get(63));
+        assertTrue(bitset.get(64));
+        assertFalse(bitset.get(65));
+        assertTrue(bitset.get(127));
+        assertTrue(bitset.get(128));
+        assertTrue(bitset.get(287));
+        assertEquals(5, bitset.cardinality());
+    }
+
+    @Test
+    void runSpanningWholeWords() {
+        DayBitset bitset = new DayBitset();
+        bitset.set(10, 200);
+
+        assertRuns(bitset, new int[]{10, 200});
+        assertEquals(190, bitset.cardinality());
+    }
+
+    @Test
+    void nextSetBitAtBoundaries() {
+        DayBitset bitset = new DayBitset();
+        bitset.set(64);
+        bitset.set(287);
+
+        assertEquals(64, bitset.nextSetBit(0));
+        assertEquals(64, bitset.nextSetBit(64));
+        assertEquals(287, bitset.nextSetBit(65));
+        assertEquals(-1, bitset.nextSetBit(288));
+        assertEquals(-1, new DayBitset().nextSetBit(0));
+    }
+
+    @Test
+    void nextClearBitAtBoundaries() {
+        DayBitset bitset = new DayBitset();
+        bitset.set(0, 128);
+        bitset.set(129, 288);
+
+        assertEquals(128, bitset.nextClearBit(0));
+        assertEquals(128, bitset.nextClearBit(63));
+        assertEquals(DayBitset.TICKS_PER_DAY, bitset.nextClearBit(129));
+        assertEquals(DayBitset.TICKS_PER_DAY, bitset.nextClearBit(288));
+
+        DayBitset firstWord = new DayBitset();
+        firstWord.set(0, 64);
+        assertEquals(64, firstWord.nextClearBit(0));
+    }
+
+    @Test
+    void firstFitWithNonPowerOfTwoLengths() {
+        DayBitset bitset = new DayBitset();
+        bitset.set(10, 12);
+        bitset.set(20, 27);
+        bitset.set(60, 73);
+        bitset.set(100, 230);
+
+        assertEquals(10, bitset.firstFit(1));
+        assertEquals(20, bitset.firstFit(3));
+        assertEquals(20, bitset.firstFit(7));
+        assertEquals(60, bitset.firstFit(8));
+        assertEquals(60, bitset.firstFit(13));
+        assertEquals(100, bitset.firstFit(14));
+        assertEquals(100, bitset.firstFit(130));
+        assertEquals(-1, bitset.firstFit(131));
+    }
+
+    @Test
+    void firstFitWholeDay() {
+        DayBitset day = new DayBitset();
+        day.set(0, DayBitset.TICKS_PER_DAY);
+
+        assertEquals(0, day.firstFit(DayBitset.TICKS_PER_DAY));
+        assertEquals(-1, day.firstFit(DayBitset.TICKS_PER_DAY + 1));
+        assertEquals(-1, day.firstFit(0));
+    }
+
+    @Test
+    void firstFitAndRunsMatchTickByTickScan() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            boolean[] ticks = new boolean[DayBitset.TICKS_PER_DAY];
+            DayBitset bitset = new DayBitset();
+            for (int block = random.nextInt(8); block > 0; block--) {
+                int from = random.nextInt(DayBitset.TICKS_PER_DAY);
+                int to = Math.min(DayBitset.TICKS_PER_DAY, from + 1 + random.nextInt(120));
+                bitset.set(from, to);
+                for (int tick = from; tick < to; tick++) {
+                    ticks[tick] = true;
+                }
+            }
+
+            int length = 1 + random.nextInt(150);
+            assertEquals(scanFirstFit(ticks, length), bitset.firstFit(length), "length " + length);
+
+            List<int[]> runs = bitset.runs();
+            List<int[]> expected = scanRuns(ticks);
+            assertEquals(expected.size(), runs.size());
+            for (int i = 0; i < runs.size(); i++) {
+                assertArrayEquals(expected.get(i), runs.get(i));
+            }
+        }
+    }
+
+    @Test
+    void midnightAsEndTime() {
+        assertEquals(0, DayBitset.tickOf(LocalTime.MIDNIGHT));
+        assertEquals(DayBitset.TICKS_PER_DAY, DayBitset.endTickOf(LocalTime.MIDNIGHT));
+        assertEquals(LocalTime.MIDNIGHT, DayBitset.timeOf(DayBitset.TICKS_PER_DAY));
+
+        DayBitset lateEvening = DayBitset.of(LocalTime.of(22, 0), LocalTime.MIDNIGHT);
+        assertRuns(lateEvening, new int[]{264, 288});
+    }
+
+    @Test
+    void alignment() {
+        assertTrue(DayBitset.isAligned(LocalTime.of(9, 55)));
+        assertFalse(DayBitset.isAligned(LocalTime.of(9, 57)));
+        assertFalse(DayBitset.isAligned(LocalTime.of(9, 55, 30)));
+    }
+
+    @Test
+    void setAlgebra() {
+        DayBitset morning = DayBitset.of(LocalTime.of(9, 0), LocalTime.of(12, 0));
+        DayBitset meeting = DayBitset.of(LocalTime.of(10, 0), LocalTime.of(11, 0));
+        DayBitset afternoon = DayBitset.of(LocalTime.of(13, 0), LocalTime.of(17, 0));
+
+        assertTrue(morning.contains(meeting));
+        assertTrue(morning.intersects(meeting));
+        assertFalse(morning.intersects(afternoon));
+        assertEquals(meeting, morning.copy().and(meeting));
+
+        DayBitset free = morning.copy().or(afternoon).andNot(meeting);
+        assertRuns(free, new int[]{108, 120}, new int[]{132, 144}, new int[]{156, 204});
+        assertFalse(free.contains(meeting));
+        assertTrue(free.copy().andNot(free).isEmpty());
+    }
+
+    private static void assertRuns(DayBitset bitset, int[]... expected) {
+        List<int[]> runs = bitset.runs();
+        assertEquals(expected.length, runs.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], runs.get(i));
+        }
+    }
+
+    private static int scanFirstFit(boolean[] ticks, int length) {
+        int run = 0;
+        for (int tick = 0; tick < ticks.length; tick++) {
+            run = ticks[tick] ? run + 1 : 0;
+            if (run == length) {
+                return tick - length + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static List<int[]> scanRuns(boolean[] ticks) {
+        List<int[]> runs = new ArrayList<>();
+        for (int tick = 0; tick < ticks.length; tick++) {
+            if (ticks[tick] && (tick == 0 || !ticks[tick - 1])) {
+                int end = tick;
+                while (end < ticks.length && ticks[end]) {
+                    end++;
+                }
+                runs.add(new int[]{tick, end});
+            }
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,216 @@
+package com.kalvitrack_backend.service.schedulingfeature;
+
+import com.kalvitrack_backend.dto.scheduling.BulkScheduleRequestDTO;
+import com.kalvitrack_backend.entity.InterviewSession;
+import com.kalvitrack_backend.entity.Interviewer;
+import com.kalvitrack_backend.entity.InterviewerAvailability;
+import com.kalvitrack_backend.entity.Student;
+import com.kalvitrack_backend.repository.InterviewSessionRepository;
+import com.kalvitrack_backend.repository.InterviewerAvailabilityRepository;
+import com.kalvitrack_backend.repository.InterviewerRepository;
+import com.kalvitrack_backend.repository.StudentRepository;
+import com.kalvitrack_backend.repository.UserRepository;
+import com.kalvitrack_backend.service.availability.AvailabilityCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Plans through scheduleBulk against mocked repositories: the conflict index answers busyUntil
+ * with null (nothing booked) unless a test stubs it.
+ */
+class BulkInterviewSchedulingServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private final InterviewSessionRepository sessionRepository = mock(InterviewSessionRepository.class);
+    private final InterviewerAvailabilityRepository availabilityRepository = mock(InterviewerAvailabilityRepository.class);
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final InterviewerRepository interviewerRepository = mock(InterviewerRepository.class);
+    private final InterviewConflictIndex conflictIndex = mock(InterviewConflictIndex.class);
+    private final AvailabilityCalendar availabilityCalendar = mock(AvailabilityCalendar.class);
+
+    private final List<Interviewer> interviewers = new ArrayList<>();
+    private final List<InterviewerAvailability> blocks = new ArrayList<>();
+    private final List<InterviewSession> saved = new ArrayList<>();
+    private long nextId = 1;
+
+    private BulkInterviewSchedulingService service;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(interviewerRepository.findAllById(anyIterable())).thenAnswer(invocation -> List.copyOf(interviewers));
+        when(availabilityRepository.findAvailableSlots(any(), any())).thenAnswer(invocation -> List.copyOf(blocks));
+        when(studentRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Student> students = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                Student student = new Student();
+                student.setId(id);
+                student.setEmail("student" + id + "@example.com");
+                student.setStatus(Student.StudentStatus.ACTIVE);
+                students.add(student);
+            }
+            return students;
+        });
+        when(sessionRepository.findStudentIdsWithActiveInterview(anyCollection())).thenReturn(List.of());
+        when(sessionRepository.countSessionsPerInterviewerDay(any(), any())).thenReturn(List.of());
+        when(sessionRepository.save(any())).thenAnswer(invocation -> {
+            InterviewSession session = invocation.getArgument(0);
+            session.setSessionId(nextId++);
+            saved.add(session);
+            return session;
+        });
+        when(availabilityCalendar.claim(any())).thenReturn(true);
+
+        service = new BulkInterviewSchedulingService();
+        ReflectionTestUtils.setField(service, "interviewSessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "availabilityRepository", availabilityRepository);
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(service, "interviewerRepository", interviewerRepository);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "emailService", mock(SchedulingEmailService.class));
+        ReflectionTestUtils.setField(service, "conflictIndex", conflictIndex);
+        ReflectionTestUtils.setField(service, "availabilityCalendar", availabilityCalendar);
+    }
+
+    @Test
+    void fillsEachBlockFromItsStart() {
+        interviewer(1L, 5);
+        block(1L, "09:00", "11:00");
+        interviewer(2L, 5);
+        block(2L, "09:00", "10:00");
+
+        Map<String, Object> result = service.scheduleBulk(request(true, 101L, 102L, 103L, 104L), 9L);
+
+        assertEquals(List.of("1 09:00-10:00", "2 09:00-10:00", "1 10:00-11:00"), slots(result));
+        assertEquals(List.of(104L), unassignedIds(result));
+    }
+
+    @Test
+    void overlappingBlocksOfOneDayAreNotDoubleBooked() {
+        interviewer(1L, 5);
+        block(1L, "09:00", "11:00");
+        block(1L, "10:00", "12:00");
+
+        Map<String, Object> result = service.scheduleBulk(request(true, 101L, 102L, 103L, 104L), 9L);
+
+        assertEquals(List.of("1 09:00-10:00", "1 10:00-11:00", "1 11:00-12:00"), slots(result));
+        assertEquals(List.of(104L), unassignedIds(result));
+    }
+
+    @Test
+    void skipsTimeAlreadyBooked() {
+        interviewer(1L, 5);
+        block(1L, "09:00", "12:00");
+        when(conflictIndex.busyUntil(eq(1L), eq(DAY), eq(LocalTime.of(9, 0)), any())).thenReturn(LocalTime.of(9, 30));
+
+        Map<String, Object> result = service.scheduleBulk(request(true, 101L, 102L), 9L);
+
+        assertEquals(List.of("1 09:30-10:30", "1 10:30-11:30"), slots(result));
+    }
+
+    @Test
+    void respectsMaxInterviewsPerDay() {
+        interviewer(1L, 3);
+        block(1L, "09:00", "17:00");
+        when(sessionRepository.countSessionsPerInterviewerDay(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, DAY, 2L}));
+
+        Map<String, Object> result = service.scheduleBulk(request(true, 101L, 102L), 9L);
+
+        assertEquals(List.of("1 09:00-10:00"), slots(result));
+        assertEquals(List.of(102L), unassignedIds(result));
+    }
+
+    @Test
+    void saveChecksEachInterviewerOnceAgainstBookedSessions() {
+        interviewer(1L, 5);
+        block(1L, "09:00", "12:00");
+        interviewer(2L, 5);
+        block(2L, "09:00", "10:00");
+        // Booked by another HR user after planning read the index
+        InterviewSession taken = new InterviewSession();
+        taken.setInterviewerId(1L);
+        taken.setInterviewDate(DAY);
+        taken.setStartTime(LocalTime.of(10, 30));
+        taken.setEndTime(LocalTime.of(11, 0));
+        when(sessionRepository.findBookedSessionsForDays(eq(1L), anyCollection())).thenReturn(List.of(taken));
+        when(sessionRepository.findBookedSessionsForDays(eq(2L), anyCollection())).thenReturn(List.of());
+
+        Map<String, Object> result = service.scheduleBulk(request(false, 101L, 102L, 103L, 104L), 9L);
+
+        assertEquals(List.of("1 09:00-10:00", "2 09:00-10:00", "1 11:00-12:00"), slots(result));
+        assertEquals(List.of(103L), unassignedIds(result));
+        assertEquals(3, saved.size());
+        verify(sessionRepository, times(1)).findBookedSessionsForDays(eq(1L), eq(Set.of(DAY)));
+        verify(sessionRepository, times(1)).findBookedSessionsForDays(eq(2L), anyCollection());
+        verify(sessionRepository, never()).hasOverlappingSession(anyLong(), any(), any(), any());
+        verify(conflictIndex, never()).isFree(anyLong(), any(), any(), any());
+        verify(conflictIndex, times(3)).book(any());
+    }
+
+    private void interviewer(Long id, int maxPerDay) {
+        Interviewer interviewer = new Interviewer();
+        interviewer.setInterviewerId(id);
+        interviewer.setIsActive(true);
+        interviewer.setMaxInterviewsPerDay(maxPerDay);
+        interviewers.add(interviewer);
+    }
+
+    private void block(Long interviewerId, String start, String end) {
+        InterviewerAvailability block = new InterviewerAvailability();
+        block.setAvailabilityId(nextId++);
+        block.setInterviewerId(interviewerId);
+        block.setAvailableDate(DAY);
+        block.setStartTime(LocalTime.parse(start));
+        block.setEndTime(LocalTime.parse(end));
+        block.setIsBooked(false);
+        block.setIsActive(true);
+        blocks.add(block);
+    }
+
+    private static BulkScheduleRequestDTO request(boolean dryRun, Long... studentIds) {
+        BulkScheduleRequestDTO dto = new BulkScheduleRequestDTO();
+        dto.setStudentIds(List.of(studentIds));
+        dto.setFromDate(DAY);
+        dto.setToDate(DAY);
+        dto.setDurationMinutes(60);
+        dto.setDryRun(dryRun);
+        return dto;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> slots(Map<String, Object> result) {
+        return ((List<Map<String, Object>>) result.get("assignments")).stream()
+                .map(assignment -> assignment.get("interviewerId") + " " + assignment.get("startTime") + "-" + assignment.get("endTime"))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> unassignedIds(Map<String, Object> result) {
+        return ((List<Map<String, Object>>) result.get("unassigned")).stream()
+                .map(entry -> (Long) entry.get("studentId"))
+                .toList();
+    }
+}
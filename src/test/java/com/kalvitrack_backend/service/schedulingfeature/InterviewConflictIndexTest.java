@@ -0,0 +1,149 @@
+package com.kalvitrack_backend.service.schedulingfeature;
+
+import com.kalvitrack_backend.entity.InterviewSession;
+import com.kalvitrack_backend.repository.InterviewSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every isFree answer is confirmed against the database and a day whose in-memory blocks disagree
+ * is reloaded, so "loaded exactly once" below means the index agreed with the database each time.
+ */
+class InterviewConflictIndexTest {
+
+    private static final Long INTERVIEWER = 3L;
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 2);
+
+    // Committed sessions as the database sees them
+    private final List<InterviewSession> database = new ArrayList<>();
+
+    private InterviewSessionRepository repository;
+    private InterviewConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(InterviewSessionRepository.class);
+        when(repository.findBookedSessionsForDay(anyLong(), any())).thenAnswer(invocation -> List.copyOf(database));
+        when(repository.hasOverlappingSession(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            LocalTime start = invocation.getArgument(2);
+            LocalTime end = invocation.getArgument(3);
+            return database.stream().anyMatch(session -> session.getStartTime().isBefore(end) && session.getEndTime().isAfter(start));
+        });
+        index = new InterviewConflictIndex(repository, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void answersMatchExistingSessions() {
+        database.add(session(1L, "09:00", "10:00"));
+        database.add(session(2L, "11:00", "12:00"));
+
+        assertFalse(isFree("09:30", "10:30"));
+        assertFalse(isFree("11:30", "13:00"));
+        assertFalse(isFree("08:00", "13:00"));
+        assertTrue(isFree("10:00", "11:00"));
+        assertTrue(isFree("08:00", "09:00"));
+        assertTrue(isFree("12:00", "12:30"));
+
+        verify(repository, times(1)).findBookedSessionsForDay(INTERVIEWER, DAY);
+    }
+
+    @Test
+    void pendingBookingBlocksWithoutAskingTheDatabase() {
+        index.book(session(5L, "14:00", "15:00"));
+
+        assertFalse(isFree("14:30", "15:30"));
+        verify(repository, never()).hasOverlappingSession(anyLong(), any(), eq(time("14:30")), any());
+
+        assertTrue(isFree("15:00", "16:00"));
+        verify(repository, times(1)).findBookedSessionsForDay(INTERVIEWER, DAY);
+    }
+
+    @Test
+    void rolledBackBookingIsDropped() {
+        InterviewSession session = session(5L, "14:00", "15:00");
+        index.book(session);
+
+        index.onBookingRolledBack(new InterviewBookingEvent(INTERVIEWER, DAY, 5L, false));
+
+        assertTrue(isFree("14:00", "15:00"));
+        verify(repository, times(1)).findBookedSessionsForDay(INTERVIEWER, DAY);
+    }
+
+    @Test
+    void committedBookingIsConfirmedByTheDatabase() {
+        InterviewSession session = session(7L, "12:00", "13:00");
+        index.book(session);
+        database.add(session);
+
+        index.onBookingCommitted(new InterviewBookingEvent(INTERVIEWER, DAY, 7L, false));
+
+        assertFalse(isFree("12:30", "13:30"));
+        verify(repository).hasOverlappingSession(INTERVIEWER, DAY, time("12:30"), time("13:30"));
+        verify(repository, times(1)).findBookedSessionsForDay(INTERVIEWER, DAY);
+    }
+
+    @Test
+    void releaseSplitsMergedBlock() {
+        // Legacy rows overlapping each other share one busy block
+        InterviewSession early = session(1L, "09:00", "10:00");
+        InterviewSession late = session(2L, "09:30", "11:00");
+        database.add(early);
+        database.add(late);
+        assertFalse(isFree("10:30", "11:00"));
+
+        index.release(late);
+        database.remove(late);
+        index.onBookingCommitted(new InterviewBookingEvent(INTERVIEWER, DAY, 2L, true));
+
+        assertTrue(isFree("10:00", "11:00"));
+        assertFalse(isFree("09:30", "10:00"));
+        verify(repository, times(1)).findBookedSessionsForDay(INTERVIEWER, DAY);
+    }
+
+    @Test
+    void dayChangedElsewhereIsReloaded() {
+        assertTrue(isFree("09:00", "10:00"));
+
+        // Booked through another instance
+        database.add(session(9L, "09:00", "10:00"));
+
+        assertFalse(isFree("09:00", "10:00"));
+        assertFalse(isFree("09:15", "09:45"));
+        verify(repository, times(2)).findBookedSessionsForDay(INTERVIEWER, DAY);
+    }
+
+    private boolean isFree(String start, String end) {
+        return index.isFree(INTERVIEWER, DAY, time(start), time(end));
+    }
+
+    private static InterviewSession session(Long id, String start, String end) {
+        InterviewSession session = new InterviewSession();
+        session.setSessionId(id);
+        session.setInterviewerId(INTERVIEWER);
+        session.setInterviewDate(DAY);
+        session.setStartTime(time(start));
+        session.setEndTime(time(end));
+        return session;
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+}
@@ -0,0 +1,126 @@
+package com.kalvitrack_backend.service.studentregistration;
+
+import com.kalvitrack_backend.entity.Student;
+import com.kalvitrack_backend.entity.StudentImportJob;
+import com.kalvitrack_backend.repository.StudentImportJobRepository;
+import com.kalvitrack_backend.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs an import job against mocked repositories whose saveAll enforces the NOT NULL columns of
+ * students, the way MySQL does on insert.
+ */
+class StudentCsvImportServiceTest {
+
+    private static final String JOB_ID = "import-test";
+
+    @TempDir
+    Path dir;
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final StudentImportJobRepository jobRepository = mock(StudentImportJobRepository.class);
+    private final List<Student> persisted = new ArrayList<>();
+
+    private StudentCsvImportService service;
+
+    @BeforeEach
+    void setUp() {
+        when(studentRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(studentRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<Student> students = new ArrayList<>();
+            invocation.<Iterable<Student>>getArgument(0).forEach(students::add);
+            for (Student student : students) {
+                if (student.getCreatedAt() == null || student.getUpdatedAt() == null) {
+                    throw new DataIntegrityViolationException("Column 'created_at' cannot be null");
+                }
+            }
+            persisted.addAll(students);
+            return students;
+        });
+
+        service = new StudentCsvImportService(studentRepository, jobRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 1, 1);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void importedStudentsArePersistedWithTimestamps() throws IOException {
+        queueJob("email,role\nasha@example.com,ZSGS\nravi@example.com,PMIS\n");
+
+        service.runJob(JOB_ID);
+
+        assertEquals(List.of("asha@example.com", "ravi@example.com"),
+                persisted.stream().map(Student::getEmail).toList());
+        for (Student student : persisted) {
+            assertNotNull(student.getCreatedAt());
+            assertNotNull(student.getUpdatedAt());
+            assertEquals(Student.StudentStatus.ACTIVE, student.getStatus());
+        }
+        verify(jobRepository).recordChunk(eq(JOB_ID), eq(3L), eq(2), eq(2), eq(0), any(), any());
+        verify(jobRepository).finish(eq(JOB_ID), eq(StudentImportJob.Status.COMPLETED), anyString(), any());
+    }
+
+    @Test
+    void rowByRowRetryAlsoSetsTimestamps() throws IOException {
+        // The batch hits a concurrently inserted email; the retry saves the remaining row on its own
+        when(studentRepository.saveAll(anyIterable()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'ravi@example.com'"))
+                .thenAnswer(invocation -> {
+                    Student student = invocation.<Iterable<Student>>getArgument(0).iterator().next();
+                    assertNotNull(student.getCreatedAt());
+                    assertNotNull(student.getUpdatedAt());
+                    persisted.add(student);
+                    return List.of(student);
+                });
+        when(studentRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("ravi@example.com"));
+        queueJob("email,role\nasha@example.com,ZSGS\nravi@example.com,PMIS\n");
+
+        service.runJob(JOB_ID);
+
+        assertEquals(List.of("asha@example.com"), persisted.stream().map(Student::getEmail).toList());
+        verify(jobRepository).recordChunk(eq(JOB_ID), eq(3L), eq(2), eq(1), eq(1), any(), any());
+    }
+
+    private void queueJob(String csv) throws IOException {
+        Path file = dir.resolve(JOB_ID + ".csv");
+        Files.writeString(file, csv);
+
+        StudentImportJob job = new StudentImportJob();
+        job.setJobId(JOB_ID);
+        job.setFilePath(file.toString());
+        job.setStatus(StudentImportJob.Status.QUEUED);
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+    }
+}